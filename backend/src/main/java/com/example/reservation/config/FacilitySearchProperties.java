@@ -0,0 +1,31 @@
+package com.example.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 施設検索（メモリ上のトライグラム索引）の設定プロパティを管理するクラス
+ * アプリケーションのプロパティファイル（application.properties/yml）から
+ * 「app.facility-search」プレフィックスを持つ設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "app.facility-search")
+@Data
+public class FacilitySearchProperties {
+    /**
+     * メモリ上のトライグラム索引で検索するかどうか
+     * falseの場合はデータベースの部分一致検索（施設名のみ）で検索します
+     */
+    private boolean enabled = true;
+
+    /**
+     * 取得件数が指定されない場合の件数
+     */
+    private int defaultLimit = 50;
+
+    /**
+     * 指定できる取得件数の上限
+     */
+    private int maxLimit = 200;
+}
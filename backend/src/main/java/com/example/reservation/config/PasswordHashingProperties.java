@@ -0,0 +1,60 @@
+package com.example.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * パスワードのハッシュ化・照合を行う専用スレッドプールの設定プロパティを管理するクラス
+ * アプリケーションのプロパティファイル（application.properties/yml）から
+ * 「app.password-hashing」プレフィックスを持つ設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "app.password-hashing")
+@Data
+public class PasswordHashingProperties {
+    /**
+     * BCryptのコスト（work factor）
+     * 0以下の場合は起動時に処理時間を計測し、targetLatency を超えない最大のコストを使用します
+     */
+    private int strength = 0;
+
+    /**
+     * 起動時の計測でコストを決定する際の、1回のハッシュ化の目標処理時間
+     */
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    /**
+     * 計測で決定するコストの下限（目標処理時間を超える場合もこの値を使用します）
+     */
+    private int minStrength = 10;
+
+    /**
+     * 計測で決定するコストの上限
+     */
+    private int maxStrength = 16;
+
+    /**
+     * ハッシュ化・照合を実行するスレッド数
+     * 0以下の場合はCPUコア数の半分（最低1）を使用します
+     */
+    private int threads = 0;
+
+    /**
+     * 実行待ちにできる処理の最大件数
+     * これを超えたリクエストは待たずに503で拒否されます
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * 実行待ちを含めて処理の完了を待つ最大時間
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * 拒否時にRetry-Afterヘッダーで通知する再試行までの時間
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,98 @@
+package com.example.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * レート制限（トークンバケット）の設定プロパティを管理するクラス
+ * アプリケーションのプロパティファイル（application.properties/yml）から
+ * 「app.rate-limit」プレフィックスを持つ設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+    /**
+     * レート制限を行うかどうか
+     */
+    private boolean enabled = true;
+
+    /**
+     * バケットが満杯に戻ってから破棄されるまでの時間
+     * この時間リクエストのなかったキーはメモリから取り除かれます
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * ユーザー名を取得するために読み込むリクエストボディの最大サイズ（バイト）
+     * これを超えるリクエストはユーザー名単位の制限を行いません
+     */
+    private int maxBodyBytes = 16 * 1024;
+
+    /**
+     * レート制限を行うルートの一覧
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * ルートごとのレート制限の設定項目
+     */
+    @Data
+    public static class Route {
+        /**
+         * ルートの名前（メトリクスのタグとバケットのキーに使用）
+         */
+        private String name;
+
+        /**
+         * 対象のHTTPメソッド
+         */
+        private String method = "POST";
+
+        /**
+         * 対象のパス（Antパターン）
+         * 複数指定したパスは同じバケットを共有します（同じ操作の別名となるエンドポイントなど）
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * 制限の単位（指定したすべての単位でバケットを消費し、いずれかが空なら拒否）
+         */
+        private List<KeyType> keys = new ArrayList<>(List.of(KeyType.IP));
+
+        /**
+         * バケットの容量（連続して受け付けられるリクエスト数）
+         */
+        private int capacity = 10;
+
+        /**
+         * 空のバケットが満杯に戻るまでの時間
+         */
+        private Duration period = Duration.ofMinutes(1);
+    }
+
+    /**
+     * レート制限の単位
+     */
+    public enum KeyType {
+        /**
+         * 接続元のIPアドレス
+         */
+        IP,
+
+        /**
+         * リクエストボディのusername
+         */
+        USERNAME,
+
+        /**
+         * 認証済みユーザーのID（JWTトークンから取得）
+         */
+        USER
+    }
+}
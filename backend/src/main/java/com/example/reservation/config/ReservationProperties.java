@@ -0,0 +1,127 @@
+package com.example.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 予約機能の設定プロパティを管理するクラス
+ * アプリケーションのプロパティファイル（application.properties/yml）から
+ * 「app.reservation」プレフィックスを持つ設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "app.reservation")
+@Data
+public class ReservationProperties {
+    /**
+     * 時間枠の重複判定に使用するインターバル索引の設定
+     */
+    private IntervalIndex intervalIndex = new IntervalIndex();
+
+    /**
+     * 施設単位の予約処理を直列化するストライプロックの設定
+     */
+    private Lock lock = new Lock();
+
+    /**
+     * 施設の空き状況カレンダーの設定
+     */
+    private Availability availability = new Availability();
+
+    /**
+     * 予約の一括作成の設定
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 予約一覧のページネーションの設定
+     */
+    private Pagination pagination = new Pagination();
+
+    /**
+     * インターバル索引の設定項目
+     */
+    @Data
+    public static class IntervalIndex {
+        /**
+         * メモリ上のインターバル索引で重複判定を行うかどうか
+         * falseの場合は従来どおりリポジトリのクエリで重複判定を行う
+         * （複数インスタンス構成で索引の整合性を保証できない場合などに使用）
+         */
+        private boolean enabled = true;
+    }
+
+    /**
+     * 施設ストライプロックの設定項目
+     */
+    @Data
+    public static class Lock {
+        /**
+         * ロックのストライプ数（2のべき乗に切り上げられる）
+         * 同じストライプに割り当てられた施設同士のみが互いに待ち合わせる
+         */
+        private int stripes = 64;
+    }
+
+    /**
+     * 空き状況カレンダーの設定項目
+     */
+    @Data
+    public static class Availability {
+        /**
+         * 空き状況を管理する最小の時間枠（分）
+         * 1日（1440分）を割り切れる値である必要があり、指定できる粒度はこの値の倍数に限られる
+         */
+        private int slotMinutes = 15;
+
+        /**
+         * 1回のリクエストで取得できる最大日数
+         */
+        private int maxRangeDays = 31;
+
+        /**
+         * 空き状況を取得できる期間（今日の前後の日数）
+         * この範囲外の日付は拒否し、キャッシュされる日数の上限とする
+         */
+        private int horizonDays = 366;
+
+        /**
+         * ビットセットをキャッシュする施設数の上限
+         */
+        private long maxCachedFacilities = 1000;
+
+        /**
+         * この時間参照されなかった施設のビットセットは破棄する
+         */
+        private Duration cacheIdleTimeout = Duration.ofHours(1);
+    }
+
+    /**
+     * 予約の一括作成の設定項目
+     */
+    @Data
+    public static class Batch {
+        /**
+         * 1回のリクエストで作成できる予約の最大件数（繰り返しの展開後の件数）
+         */
+        private int maxOccurrences = 200;
+    }
+
+    /**
+     * 予約一覧のページネーションの設定項目
+     */
+    @Data
+    public static class Pagination {
+        /**
+         * ページサイズが指定されない場合の件数
+         */
+        private int defaultSize = 50;
+
+        /**
+         * 指定できるページサイズの上限
+         */
+        private int maxSize = 200;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.reservation.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernateの第2レベルキャッシュのヒット率をメトリクスとして公開するクラス
+ * リージョンごとのヒット数・ミス数（hibernate.second.level.cache.requests）はSpring Bootにより公開されるため、
+ * ここではダッシュボードで直接参照できるヒット率のみを登録する
+ * <p>
+ * hibernate.second.level.cache.hit.ratio（タグ region）: リージョンごとのヒット率
+ * （facilities、users、users-natural-id）
+ * 統計は hibernate.generate_statistics が有効な場合のみ記録される（まだ参照がない場合はNaN）
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+    /**
+     * 統計情報を取得するエンティティマネージャーファクトリ
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            if (statistics.getDomainDataRegionStatistics(region) != null) {
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics,
+                                s -> hitRatio(s.getDomainDataRegionStatistics(region)))
+                        .tag("region", region)
+                        .description("第2レベルキャッシュのヒット率")
+                        .register(registry);
+            }
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? Double.NaN : (double) region.getHitCount() / requests;
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.reservation.config;
 
+import com.example.reservation.security.BoundedPasswordEncoder;
+import com.example.reservation.security.CalibratedBCryptPasswordEncoder;
 import com.example.reservation.security.JwtRequestFilter;
+import com.example.reservation.security.PublicEndpoints;
+import com.example.reservation.security.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,7 +14,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,6 +23,7 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Map;
 
 /**
  * Spring Securityの設定クラス
@@ -24,17 +31,22 @@ import java.util.Arrays;
  */
 @Configuration
 @EnableWebSecurity
+@Slf4j
 public class SecurityConfig {
 
     private final JwtRequestFilter jwtRequestFilter;
 
+    private final RateLimitFilter rateLimitFilter;
+
     /**
      * コンストラクタ - 依存性の注入
      *
      * @param jwtRequestFilter JWT認証フィルター
+     * @param rateLimitFilter  レート制限フィルター
      */
-    public SecurityConfig(JwtRequestFilter jwtRequestFilter) {
+    public SecurityConfig(JwtRequestFilter jwtRequestFilter, RateLimitFilter rateLimitFilter) {
         this.jwtRequestFilter = jwtRequestFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -67,17 +79,18 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 // エンドポイントごとのアクセス制御を設定
                 .authorizeHttpRequests(authz -> authz
-                        // 認証不要のエンドポイント
-                        .requestMatchers("/api/users/register", "/api/auth/**").permitAll()
+                        // 認証不要のエンドポイント（JwtRequestFilterの対象外判定と同じパターン）
+                        .requestMatchers(PublicEndpoints.API).permitAll()
                         // 静的ファイル（アバター画像等）へのアクセスを許可
-                        .requestMatchers("/uploads/**").permitAll()
-                        .requestMatchers("/api/files/**").permitAll()
-                        .requestMatchers("/api/files/debug/**").permitAll()
+                        .requestMatchers(PublicEndpoints.STATIC).permitAll()
+                        // 予約のエクスポートは管理者のみ
+                        .requestMatchers("/api/reservations/export").hasRole("ADMIN")
                         // 一般ユーザーと管理者がアクセス可能なエンドポイント
                         .requestMatchers("/api/facilities/**").hasAnyRole("USER", "ADMIN")
                         .requestMatchers("/api/reservations/**").hasAnyRole("USER", "ADMIN")
                         // 管理者専用エンドポイント
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/users/profile").authenticated()
                         .requestMatchers("/api/users/avatar").authenticated()
                         .requestMatchers("/api/users/password").authenticated()
@@ -87,7 +100,9 @@ public class SecurityConfig {
                 // セッション管理をステートレスに設定（JWT認証のため）
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // JWTフィルターを追加
-                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+                // レート制限フィルターをJWTフィルターの前に追加（拒否するリクエストでは認証処理を行わない）
+                .addFilterBefore(rateLimitFilter, JwtRequestFilter.class);
 
         return http.build();
     }
@@ -119,11 +134,30 @@ public class SecurityConfig {
     /**
      * パスワードエンコーダーの設定
      * BCryptアルゴリズムを使用してパスワードのハッシュ化を行います
+     * コストは設定値、または起動時の計測で目標の処理時間に合わせて決定し、
+     * 保存済みのハッシュのコストが現在のコストより低い場合はログイン成功時に再ハッシュします
+     * （コストの高いハッシュは、計測結果の異なるノードが混在してもそのまま使い続けます）
+     * 新しいハッシュには「{bcrypt}」の接頭辞が付き、接頭辞のない従来のハッシュもBCryptとして照合します
+     * ハッシュ化・照合はリクエストスレッドではなく件数上限付きの専用スレッドプールで実行し、
+     * 混雑時は503で即座に拒否します
      *
-     * @return BCryptPasswordEncoderのインスタンス
+     * @param passwordHashingProperties パスワードのハッシュ化の設定（コスト・専用スレッドプール）
+     * @param meterRegistry             メトリクスの登録先
+     * @return DelegatingPasswordEncoderに委譲するBoundedPasswordEncoderのインスタンス
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties, MeterRegistry meterRegistry) {
+        int strength = passwordHashingProperties.getStrength();
+        if (strength <= 0) {
+            strength = CalibratedBCryptPasswordEncoder.calibrate(passwordHashingProperties.getTargetLatency(),
+                    passwordHashingProperties.getMinStrength(), passwordHashingProperties.getMaxStrength());
+            log.info("BCryptのコストを{}に決定しました（目標処理時間: {}ms）",
+                    strength, passwordHashingProperties.getTargetLatency().toMillis());
+        }
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // 接頭辞のない従来のハッシュはBCryptとして照合する
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating, passwordHashingProperties, meterRegistry);
     }
 }
@@ -0,0 +1,39 @@
+package com.example.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ユーザー名・メールアドレスの使用状況の確認（ブルームフィルター）の設定プロパティを管理するクラス
+ * アプリケーションのプロパティファイル（application.properties/yml）から
+ * 「app.user-availability」プレフィックスを持つ設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "app.user-availability")
+@Data
+public class UserAvailabilityProperties {
+    /**
+     * ブルームフィルターを使用するかどうか
+     * falseの場合は毎回データベースに問い合わせます
+     */
+    private boolean enabled = true;
+
+    /**
+     * ブルームフィルター1つ（ユーザー名用・メールアドレス用）あたりの想定要素数
+     * メモリ使用量は想定要素数と偽陽性率から決まります（10万件・1%で約117KB）
+     */
+    private long expectedInsertions = 100_000;
+
+    /**
+     * 想定要素数を登録したときの目標の偽陽性率
+     * 偽陽性の場合はデータベースへの問い合わせで確認されます
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * ブルームフィルターを作り直すまでのユーザー削除件数
+     * 削除されたユーザーのビットは消せないため、この件数を超えるとデータベースから再構築します
+     */
+    private int rebuildAfterDeletes = 1000;
+}
@@ -0,0 +1,34 @@
+package com.example.reservation.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ユーザー情報キャッシュの設定プロパティを管理するクラス
+ * アプリケーションのプロパティファイル（application.properties/yml）から
+ * 「app.user-cache」プレフィックスを持つ設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "app.user-cache")
+@Data
+public class UserCacheProperties {
+    /**
+     * キャッシュを使用するかどうか
+     * falseの場合は毎回データベースからユーザー情報を読み込みます
+     */
+    private boolean enabled = true;
+
+    /**
+     * キャッシュに保持するユーザーの最大件数
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * キャッシュに登録してから破棄するまでの時間
+     * 更新イベントを受け取れなかった場合（他インスタンスでの更新など）でも、この時間が経過すれば最新の情報が読み込まれます
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -1,19 +1,30 @@
 package com.example.reservation.config;
 
+import com.example.reservation.security.CurrentUserArgumentResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Webアプリケーションの設定を管理するクラス
- * CORS設定と静的ファイル配信設定を統合管理
+ * CORS設定、静的ファイル配信設定、コントローラー引数の解決設定を統合管理
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * &#064;CurrentUser が付与された引数に認証済みユーザーを解決するリゾルバー
+     */
+    private final CurrentUserArgumentResolver currentUserArgumentResolver;
+
     /**
      * アップロードされたファイルの保存ディレクトリ
      */
@@ -56,4 +67,14 @@ public class WebConfig implements WebMvcConfigurer {
                 .addResourceLocations("file:" + projectRoot + "/" + uploadDir + "/")
                 .setCachePeriod(3600); // 1時間キャッシュ
     }
+
+    /**
+     * コントローラー引数のリゾルバーを登録する
+     *
+     * @param resolvers 引数リゾルバーのリスト
+     */
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
 }
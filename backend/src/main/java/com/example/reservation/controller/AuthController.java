@@ -1,27 +1,36 @@
 package com.example.reservation.controller;
 
+import com.example.reservation.exception.DuplicateUserException;
+import com.example.reservation.exception.ServerBusyException;
 import com.example.reservation.mapper.AuthMapper;
 import com.example.reservation.model.dto.AuthDTO;
+import com.example.reservation.model.dto.UserAvailabilityDTO;
 import com.example.reservation.model.dto.UserDTO;
 import com.example.reservation.model.dto.UserRegistrationDTO;
+import com.example.reservation.model.entity.User;
+import com.example.reservation.security.CustomUserDetailsService;
 import com.example.reservation.security.JwtTokenUtil;
+import com.example.reservation.service.UserAvailabilityService;
 import com.example.reservation.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * 認証関連のエンドポイントを提供するコントローラークラス
- * ユーザー登録（サインアップ）とログイン機能を提供する
+ * ユーザー登録（サインアップ）、ユーザー名・メールアドレスの使用可否確認とログイン機能を提供する
  * <p>
  * このクラスはクライアント（フロントエンド）からのHTTPリクエストを受け取り、
  * ユーザー認証に関する処理を行う入り口となる
@@ -38,6 +47,10 @@ public class AuthController {
     // ユーザーの登録、検索などの処理を担当する
     private final UserService userService;
 
+    // ユーザー名・メールアドレスの使用可否を確認するサービス
+    // 登録フォームの入力中の確認を、ほとんどの場合データベースに問い合わせずに処理する
+    private final UserAvailabilityService userAvailabilityService;
+
     // JWTトークンの生成と検証を行うユーティリティ
     // JSON Web Token（JWT）の生成・管理を担当し、認証済みユーザーの識別に使用する
     private final JwtTokenUtil jwtTokenUtil;
@@ -55,34 +68,44 @@ public class AuthController {
      */
     @PostMapping("/signup") // HTTP POSTメソッドと/api/auth/signupパスにマッピング
     public ResponseEntity<?> registerUser(@RequestBody AuthDTO.SignupRequest signupRequest) {
-        // ユーザー名の重複チェック
-        // 既に同じユーザー名が登録されている場合はエラーレスポンスを返す
-        // データベース内に同じユーザー名が存在しないことを確認する
-        if (userService.existsByUsername(signupRequest.getUsername())) {
-            return ResponseEntity.badRequest().body("エラー: このユーザー名は既に使用されています。");
-        }
-
-        // メールアドレスの重複チェック
-        // 既に同じメールアドレスが登録されている場合はエラーレスポンスを返す
-        // データベース内に同じメールアドレスが存在しないことを確認する
-        if (userService.existsByEmail(signupRequest.getEmail())) {
-            return ResponseEntity.badRequest().body("エラー: このメールアドレスは既に使用されています。");
-        }
-
         // AuthMapper を使ってリクエストデータをサービス層で使用するDTOに変換する
         // コントローラーとサービス層の間のデータ形式の差異を吸収するために使用
         UserRegistrationDTO registrationDTO = authMapper.toRegistrationDTO(signupRequest);
 
         // ユーザーサービスを使用してユーザーを登録
         // パスワードのハッシュ化などはUserServiceで処理される
-        // データベースへの保存処理もUserService内で行われる
-        UserDTO userDTO = userService.register(registrationDTO);
+        // ユーザー名・メールアドレスの重複は事前に問い合わせず、登録時の一意制約違反として検出される
+        try {
+            userService.register(registrationDTO);
+        } catch (DuplicateUserException e) {
+            // 既に同じユーザー名・メールアドレスが登録されている場合はエラーレスポンスを返す
+            return ResponseEntity.badRequest().body("エラー: " + e.getMessage());
+        }
 
         // 登録成功メッセージを返す
         // HTTP 200 OKステータスとともにメッセージボディを返す
         return ResponseEntity.ok("ユーザー登録が完了しました。");
     }
 
+    /**
+     * ユーザー名・メールアドレスの使用可否確認エンドポイント
+     * 登録フォームの入力中に呼び出され、指定された項目が登録に使用できるかどうかを返す
+     * （登録時の一意制約による確認に代わるものではない）
+     *
+     * @param username 確認するユーザー名（省略可）
+     * @param email    確認するメールアドレス（省略可）
+     * @return 使用可否（指定しなかった項目はnull）
+     */
+    @GetMapping("/availability") // HTTP GETメソッドと/api/auth/availabilityパスにマッピング
+    public ResponseEntity<UserAvailabilityDTO> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new IllegalArgumentException("ユーザー名またはメールアドレスを指定してください");
+        }
+        return ResponseEntity.ok(userAvailabilityService.check(username, email));
+    }
+
     /**
      * ログインエンドポイント
      * ユーザー認証を行い、成功時にはJWTトークンを返す
@@ -113,15 +136,15 @@ public class AuthController {
             // UserDetailsはSpring Securityが認証に使用するユーザー情報インターフェース
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-            // ユーザー名を使ってユーザー情報を取得
-            // 追加のユーザー情報（ID、ロールなど）を取得するため
-            // データベースからより詳細なユーザー情報を取得
-            UserDTO userDTO = userService.findByUsername(userDetails.getUsername());
+            // 認証時に読み込んだユーザーエンティティをそのまま使用する
+            // （ID、ロール、トークンバージョンなどを再度データベースから取得しない）
+            User user = ((CustomUserDetailsService.CustomUserDetails) userDetails).getUser();
+            UserDTO userDTO = UserDTO.fromEntity(user);
 
             // JWTトークンを生成
-            // ユーザー情報とIDを元にJWTトークンを作成
+            // ユーザーID・役割・トークンバージョンを含むJWTトークンを作成
             // このトークンはクライアント側で保存され、以降のリクエストの認証に使用される
-            String jwt = jwtTokenUtil.generateToken(userDetails, userDTO.getId());
+            String jwt = jwtTokenUtil.generateToken(user);
 
             // 認証トークンとユーザー情報を含むレスポンスオブジェクトを作成
             // AuthMapperを使用してレスポンスデータを適切な形式に変換
@@ -136,6 +159,13 @@ public class AuthController {
             // パスワードが間違っている場合や、ユーザーが存在しない場合に発生する例外を捕捉
             // HTTP 400 Bad Requestステータスとともにエラーメッセージを返す
             return ResponseEntity.badRequest().body("エラー: ユーザー名またはパスワードが正しくありません。");
+        } catch (InternalAuthenticationServiceException e) {
+            // ユーザーの読み込み中に発生した混雑による拒否（ServerBusyException）はこの例外に包まれるため、
+            // 取り出して503として返す（存在しないユーザー名でも、ログインの成否にかかわらず503とする）
+            if (e.getCause() instanceof ServerBusyException busy) {
+                throw busy;
+            }
+            throw e;
         }
     }
 }
\ No newline at end of file
@@ -1,13 +1,23 @@
 package com.example.reservation.controller;
 
+import com.example.reservation.model.dto.AvailabilityDTO;
 import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.model.dto.FacilitySearchDTO;
+import com.example.reservation.service.AvailabilityService;
+import com.example.reservation.service.FacilityCatalog;
 import com.example.reservation.service.FacilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -24,15 +34,39 @@ public class FacilityController {
      */
     private final FacilityService facilityService;
 
+    /**
+     * 施設の空き状況を提供するサービスクラス
+     */
+    private final AvailabilityService availabilityService;
+
+    /**
+     * シリアライズ済みの施設カタログ（全施設の一覧）
+     */
+    private final FacilityCatalog facilityCatalog;
+
     /**
      * 全ての施設情報を取得するエンドポイント
      * GET /api/facilities
+     * シリアライズ済みの施設カタログを返し、If-None-MatchのETagが一致する場合は304 Not Modifiedを返す
      *
-     * @return 全施設のリスト
+     * @param ifNoneMatch クライアントが保持しているETag（If-None-Matchヘッダー）
+     * @return 全施設のリスト（JSON）、または304 Not Modified
      */
     @GetMapping
-    public List<FacilityDTO> getAllFacilities() {
-        return facilityService.findAll();
+    public ResponseEntity<byte[]> getAllFacilities(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        FacilityCatalog.Snapshot snapshot = facilityCatalog.current();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())  // キャッシュは保持させ、利用のたびにETagで再検証させる
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 
     /**
@@ -47,33 +81,75 @@ public class FacilityController {
         return facilityService.findById(id);
     }
 
+    /**
+     * 指定された施設の空き状況カレンダーを取得するエンドポイント
+     * GET /api/facilities/{id}/availability?from=2025-01-01&to=2025-01-07&granularity=30
+     * 各パラメータを省略した場合は今日から1週間、設定された最小粒度で返す
+     *
+     * @param id          施設ID
+     * @param from        期間の開始日（ISO形式）
+     * @param to          期間の終了日（ISO形式、この日を含む）
+     * @param granularity 時間枠の粒度（分）
+     * @return 日ごと・時間枠ごとの空き状況
+     */
+    @GetMapping("/{id}/availability")
+    public AvailabilityDTO getAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer granularity) {
+        return availabilityService.getAvailability(id, from, to, granularity);
+    }
+
     /**
      * 施設を検索するエンドポイント
-     * 名前または最小収容人数で検索可能
-     * GET /api/facilities/search?name=xxx
-     * GET /api/facilities/search?minCapacity=xxx
+     * キーワードのみの場合は施設名・場所・説明を関連度順に検索し、
+     * 場所・収容人数の範囲・空いている時間帯が指定された場合はすべての条件を組み合わせて絞り込む
+     * GET /api/facilities/search?name=xxx&limit=50&offset=0
+     * GET /api/facilities/search?name=xxx&location=xxx&minCapacity=10&maxCapacity=30
+     *     &availableFrom=2025-01-01T14:00:00&availableTo=2025-01-01T16:00:00&limit=50&offset=0
      * パラメータが指定されない場合は全施設を返す
      *
-     * @param name        検索する施設名（部分一致）
-     * @param minCapacity 最小収容人数
+     * @param filter 絞り込み条件（施設名、場所、収容人数の範囲、空いている時間帯）
+     * @param limit  取得件数（省略時は既定値）
+     * @param offset 読み飛ばす件数（省略時は0）
      * @return 検索条件に合致する施設のリスト
      */
     @GetMapping("/search")
     public List<FacilityDTO> searchFacilities(
-            @RequestParam(required = false) String name,
-            @RequestParam(required = false) Integer minCapacity) {
-        // 名前が指定された場合は名前で検索
-        if (name != null && !name.isEmpty()) {
-            return facilityService.findByNameContaining(name);
-            // 最小収容人数が指定された場合は収容人数で検索
-        } else if (minCapacity != null) {
-            return facilityService.findByMinCapacity(minCapacity);
+            FacilitySearchDTO filter,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer offset) {
+        // 施設名以外の条件が指定された場合はすべての条件を組み合わせて絞り込む
+        if (filter.hasStructuredFilter()) {
+            return facilityService.filter(filter, limit, offset);
+            // キーワードのみが指定された場合は施設名・場所・説明で検索
+        } else if (filter.getName() != null && !filter.getName().isEmpty()) {
+            return facilityService.search(filter.getName(), limit, offset);
             // どちらも指定されていない場合は全施設を返す
         } else {
             return facilityService.findAll();
         }
     }
 
+    /**
+     * 指定された時間帯に空いている施設を検索するエンドポイント
+     * 収容人数の条件と時間帯の空き状況を1回のリクエストで判定し、収容人数の昇順で返す
+     * GET /api/facilities/available?minCapacity=10&start=2025-01-01T14:00:00&end=2025-01-01T16:00:00
+     *
+     * @param minCapacity 最小収容人数（省略可）
+     * @param start       開始時間（ISO形式）
+     * @param end         終了時間（ISO形式）
+     * @return 空いている施設のリスト
+     */
+    @GetMapping("/available")
+    public List<FacilityDTO> findAvailableFacilities(
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return facilityService.findAvailable(minCapacity, start, end);
+    }
+
     /**
      * 新しい施設を作成するエンドポイント
      * POST /api/facilities
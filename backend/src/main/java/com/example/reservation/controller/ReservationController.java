@@ -1,19 +1,29 @@
 package com.example.reservation.controller;
 
+import com.example.reservation.model.dto.ReservationBatchDTO;
+import com.example.reservation.model.dto.ReservationBatchResultDTO;
 import com.example.reservation.model.dto.ReservationCreateDTO;
 import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.dto.ReservationPageDTO;
+import com.example.reservation.model.dto.ReservationSearchDTO;
 import com.example.reservation.model.entity.Reservation;
-import com.example.reservation.security.CustomUserDetailsService;
+import com.example.reservation.security.CurrentUser;
+import com.example.reservation.service.ReservationBatchService;
+import com.example.reservation.service.ReservationExportService;
+import com.example.reservation.service.ReservationListVersion;
 import com.example.reservation.service.ReservationService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 予約管理のためのRESTコントローラー
@@ -29,6 +39,16 @@ public class ReservationController {
      */
     private final ReservationService reservationService;
 
+    /**
+     * 予約の一括作成サービス
+     */
+    private final ReservationBatchService reservationBatchService;
+
+    /**
+     * 予約のエクスポートサービス
+     */
+    private final ReservationExportService reservationExportService;
+
     /**
      * すべての予約を取得する
      * HTTP GETリクエスト: /api/reservations
@@ -40,6 +60,48 @@ public class ReservationController {
         return reservationService.findAll();
     }
 
+    /**
+     * 予約をページ単位で取得する（キーセットページネーション）
+     * HTTP GETリクエスト: /api/reservations/page?facilityId=&userId=&status=&from=&to=&size=&cursor=
+     * 次のページはレスポンスのnextCursorをcursorに指定して取得する
+     *
+     * @param search 絞り込み条件（施設ID、ユーザーID、ステータス、開始時間の範囲）
+     * @param cursor 前のページで返されたカーソル
+     * @param size   ページサイズ
+     * @return 予約のページ
+     */
+    @GetMapping("/page")
+    public ReservationPageDTO getReservationPage(
+            ReservationSearchDTO search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return reservationService.findPage(search, cursor, size);
+    }
+
+    /**
+     * すべての予約をNDJSONまたはCSVでエクスポートする（管理者専用）
+     * HTTP GETリクエスト: /api/reservations/export?format=ndjson|csv
+     * 予約を1件ずつレスポンスへ直接書き込むため、件数に関わらずメモリ使用量は一定
+     *
+     * @param format   出力形式（省略時はNDJSON）
+     * @param response 書き込み先のレスポンス
+     * @throws IOException レスポンスへの書き込みに失敗した場合
+     */
+    @GetMapping("/export")
+    public void exportReservations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ReservationExportService.Format exportFormat = ReservationExportService.Format.valueOf(format.toUpperCase());
+        if (exportFormat == ReservationExportService.Format.CSV) {
+            response.setContentType("text/csv;charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"reservations.csv\"");
+        } else {
+            response.setContentType("application/x-ndjson;charset=UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"reservations.ndjson\"");
+        }
+        reservationExportService.export(exportFormat, response.getOutputStream());
+    }
+
     /**
      * 指定されたIDの予約を取得する
      * HTTP GETリクエスト: /api/reservations/{id}
@@ -55,37 +117,72 @@ public class ReservationController {
     /**
      * 指定された施設IDに関連する予約をすべて取得する
      * HTTP GETリクエスト: /api/reservations/facility/{facilityId}
+     * If-None-Matchが一覧のETagと一致する場合は304 Not Modifiedを返す
      *
      * @param facilityId 施設ID
-     * @return 予約DTOのリスト
+     * @param request    条件付きGETの判定に使用するリクエスト
+     * @return 予約DTOのリスト、または304 Not Modified
      */
     @GetMapping("/facility/{facilityId}")
-    public List<ReservationDTO> getReservationsByFacility(@PathVariable Long facilityId) {
-        return reservationService.findByFacilityId(facilityId);
+    public ResponseEntity<List<ReservationDTO>> getReservationsByFacility(@PathVariable Long facilityId, WebRequest request) {
+        return conditionalList(request, reservationService.getListVersionByFacilityId(facilityId),
+                () -> reservationService.findByFacilityId(facilityId));
     }
 
     /**
      * 指定されたユーザーIDに関連する予約をすべて取得する
      * HTTP GETリクエスト: /api/reservations/user/{userId}
+     * If-None-Matchが一覧のETagと一致する場合は304 Not Modifiedを返す
      *
-     * @param userId ユーザーID
-     * @return 予約DTOのリスト
+     * @param userId  ユーザーID
+     * @param request 条件付きGETの判定に使用するリクエスト
+     * @return 予約DTOのリスト、または304 Not Modified
      */
     @GetMapping("/user/{userId}")
-    public List<ReservationDTO> getReservationsByUser(@PathVariable Long userId) {
-        return reservationService.findByUserId(userId);
+    public ResponseEntity<List<ReservationDTO>> getReservationsByUser(@PathVariable Long userId, WebRequest request) {
+        return conditionalList(request, reservationService.getListVersionByUserId(userId),
+                () -> reservationService.findByUserId(userId));
     }
 
     /**
      * 指定されたステータスを持つ予約をすべて取得する
      * HTTP GETリクエスト: /api/reservations/status/{status}
+     * If-None-Matchが一覧のETagと一致する場合は304 Not Modifiedを返す
      *
-     * @param status 予約ステータス（文字列形式）
-     * @return 予約DTOのリスト
+     * @param status  予約ステータス（文字列形式）
+     * @param request 条件付きGETの判定に使用するリクエスト
+     * @return 予約DTOのリスト、または304 Not Modified
      */
     @GetMapping("/status/{status}")
-    public List<ReservationDTO> getReservationsByStatus(@PathVariable String status) {
-        return reservationService.findByStatus(Reservation.ReservationStatus.valueOf(status.toUpperCase()));
+    public ResponseEntity<List<ReservationDTO>> getReservationsByStatus(@PathVariable String status, WebRequest request) {
+        Reservation.ReservationStatus reservationStatus = Reservation.ReservationStatus.valueOf(status.toUpperCase());
+        return conditionalList(request, reservationService.getListVersionByStatus(reservationStatus),
+                () -> reservationService.findByStatus(reservationStatus));
+    }
+
+    /**
+     * 予約一覧を条件付きGETとして返す
+     * 件数と最終更新日時の集計だけで判定し、クライアントの保持している一覧が最新であれば
+     * 一覧を取得せずに304 Not Modifiedを返す
+     * Last-Modifiedは返さない（秒単位の日時では同じ秒の更新や、最終更新日時の変わらない削除を区別できないため）
+     *
+     * @param request リクエスト（If-None-Match）
+     * @param version 一覧の検証子
+     * @param loader  一覧の取得処理（304の場合は呼び出されない）
+     * @return 予約DTOのリスト、または304 Not Modified
+     */
+    private ResponseEntity<List<ReservationDTO>> conditionalList(
+            WebRequest request, ReservationListVersion version, Supplier<List<ReservationDTO>> loader) {
+        if (request.checkNotModified(version.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(version.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(CacheControl.noCache())  // キャッシュは保持させ、利用のたびに再検証させる
+                .body(loader.get());
     }
 
     /**
@@ -94,20 +191,36 @@ public class ReservationController {
      * 認証されたユーザーの情報を使用して予約を作成する
      *
      * @param createDTO      予約作成に必要なデータを含むDTO
-     * @param authentication 認証情報
+     * @param userId         認証されたユーザーのID
      * @return 作成された予約のDTOと201 Created HTTPステータス
      */
     @PostMapping
     public ResponseEntity<ReservationDTO> createReservation(
             @Valid @RequestBody ReservationCreateDTO createDTO,
-            Authentication authentication) {
-        // 認証されたユーザーの情報からユーザーIDを取得
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        Long userId = extractUserIdFromUserDetails(userDetails);
+            @CurrentUser Long userId) {
         ReservationDTO createdReservation = reservationService.create(createDTO, userId);
         return new ResponseEntity<>(createdReservation, HttpStatus.CREATED);
     }
 
+    /**
+     * 複数の予約をまとめて作成する
+     * HTTP POSTリクエスト: /api/reservations/batch
+     * 予約のリストまたは繰り返しルール（毎日・毎週、回数または終了日）を指定する
+     * 1件以上作成された場合は201 Created、1件も作成されなかった場合は409 Conflictを返す
+     *
+     * @param batchDTO       一括作成の内容
+     * @param userId         認証されたユーザーのID
+     * @return 予約ごとの作成結果
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ReservationBatchResultDTO> createReservations(
+            @Valid @RequestBody ReservationBatchDTO batchDTO,
+            @CurrentUser Long userId) {
+        ReservationBatchResultDTO result = reservationBatchService.createBatch(batchDTO, userId);
+        HttpStatus status = result.getCreatedCount() > 0 ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(result, status);
+    }
+
     /**
      * 予約のステータスを更新する
      * HTTP PATCHリクエスト: /api/reservations/{id}/status
@@ -135,20 +248,4 @@ public class ReservationController {
         reservationService.delete(id);
         return ResponseEntity.noContent().build();
     }
-
-    /**
-     * UserDetailsからユーザーIDを抽出するヘルパーメソッド
-     * CustomUserDetailsからユーザーIDを取得する
-     *
-     * @param userDetails 認証されたユーザーの詳細情報
-     * @return ユーザーID
-     */
-    private Long extractUserIdFromUserDetails(UserDetails userDetails) {
-        if (userDetails instanceof CustomUserDetailsService.CustomUserDetails) {
-            CustomUserDetailsService.CustomUserDetails customUserDetails = 
-                (CustomUserDetailsService.CustomUserDetails) userDetails;
-            return customUserDetails.getUser().getId();
-        }
-        throw new IllegalArgumentException("Unsupported UserDetails type");
-    }
-}
\ No newline at end of file
+}
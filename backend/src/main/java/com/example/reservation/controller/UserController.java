@@ -5,12 +5,12 @@ import com.example.reservation.model.dto.PasswordChangeDTO;
 import com.example.reservation.model.dto.ProfileUpdateDTO;
 import com.example.reservation.model.dto.UserDTO;
 import com.example.reservation.model.dto.UserRegistrationDTO;
+import com.example.reservation.security.CurrentUser;
 import com.example.reservation.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -103,12 +103,11 @@ public class UserController {
      * HTTPメソッド: GET
      * URL: /api/users/me
      *
-     * @param authentication 現在ログイン中のユーザー認証情報（Spring Securityにより自動的に提供）
+     * @param userId 現在ログイン中のユーザーのID（認証情報から自動的に解決）
      * @return 現在のユーザー情報（DTOオブジェクト形式）
      */
     @GetMapping("/me")
-    public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
-        Long userId = getUserIdFromAuthentication(authentication);
+    public ResponseEntity<UserDTO> getCurrentUser(@CurrentUser Long userId) {
         UserDTO currentUser = userService.findById(userId);
         return ResponseEntity.ok(currentUser);
     }
@@ -118,15 +117,14 @@ public class UserController {
      * HTTPメソッド: PUT
      * URL: /api/users/profile
      *
-     * @param authentication   現在ログイン中のユーザー認証情報（Spring Securityにより自動的に提供）
+     * @param userId           現在ログイン中のユーザーのID（認証情報から自動的に解決）
      * @param profileUpdateDTO 更新するプロフィール情報（リクエストボディから抽出）
      * @return 更新されたユーザー情報（DTOオブジェクト形式）
      */
     @PutMapping("/profile")
     public ResponseEntity<UserDTO> updateProfile(
-            Authentication authentication,
+            @CurrentUser Long userId,
             @Valid @RequestBody ProfileUpdateDTO profileUpdateDTO) {
-        Long userId = getUserIdFromAuthentication(authentication);
         UserDTO updatedUser = userService.updateProfile(userId, profileUpdateDTO);
         return ResponseEntity.ok(updatedUser);
     }
@@ -136,17 +134,16 @@ public class UserController {
      * HTTPメソッド: POST
      * URL: /api/users/avatar
      *
-     * @param authentication 現在ログイン中のユーザー認証情報（Spring Securityにより自動的に提供）
+     * @param userId 現在ログイン中のユーザーのID（認証情報から自動的に解決）
      * @param avatarFile     アップロードされたアバター画像ファイル（マルチパートリクエストから抽出）
      * @return 更新されたユーザー情報（DTOオブジェクト形式）
      * @throws IllegalOperationException ファイルアップロード処理に失敗した場合に発生
      */
     @PostMapping("/avatar")
     public ResponseEntity<UserDTO> uploadAvatar(
-            Authentication authentication,
+            @CurrentUser Long userId,
             @RequestParam("avatar") MultipartFile avatarFile) {
         try {
-            Long userId = getUserIdFromAuthentication(authentication);
             UserDTO updatedUser = userService.updateAvatar(userId, avatarFile);
             return ResponseEntity.ok(updatedUser);
         } catch (IOException e) {
@@ -159,33 +156,15 @@ public class UserController {
      * HTTPメソッド: PUT
      * URL: /api/users/password
      *
-     * @param authentication    現在ログイン中のユーザー認証情報（Spring Securityにより自動的に提供）
+     * @param userId            現在ログイン中のユーザーのID（認証情報から自動的に解決）
      * @param passwordChangeDTO 現在のパスワードと新しいパスワード情報（リクエストボディから抽出）
      * @return 処理成功時にHTTPステータスコード200（OK）を含むレスポンス
      */
     @PutMapping("/password")
     public ResponseEntity<Void> changePassword(
-            Authentication authentication,
+            @CurrentUser Long userId,
             @Valid @RequestBody PasswordChangeDTO passwordChangeDTO) {
-        Long userId = getUserIdFromAuthentication(authentication);
         userService.changePassword(userId, passwordChangeDTO);
         return ResponseEntity.ok().build();
     }
-
-    /**
-     * 認証情報からユーザーIDを取得するプライベートヘルパーメソッド
-     *
-     * @param authentication Spring Securityが提供する認証情報
-     * @return 認証されたユーザーのID
-     * <p>
-     * 処理手順:
-     * 1. 認証情報からユーザー名を取得
-     * 2. ユーザー名を使ってユーザーサービスからユーザー情報を検索
-     * 3. 取得したユーザー情報からIDを返却
-     */
-    private Long getUserIdFromAuthentication(Authentication authentication) {
-        String username = authentication.getName();
-        UserDTO user = userService.findByUsername(username);
-        return user.getId();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.example.reservation.event;
+
+/**
+ * 施設の作成・更新・削除を通知するアプリケーションイベント
+ * 施設カタログのスナップショットを作り直すために使用される
+ *
+ * @param facilityId 施設ID
+ */
+public record FacilityChangedEvent(Long facilityId) {
+}
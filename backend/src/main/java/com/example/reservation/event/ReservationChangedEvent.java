@@ -0,0 +1,89 @@
+package com.example.reservation.event;
+
+import com.example.reservation.model.entity.Reservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * 予約の作成・状態変更・削除を通知するアプリケーションイベント
+ * 予約データのコミット後に発行され、メモリ上の索引やキャッシュの更新に使用される
+ *
+ * @param reservationId  予約ID
+ * @param facilityId     施設ID
+ * @param userId         予約したユーザーのID
+ * @param startTime      予約開始日時
+ * @param endTime        予約終了日時
+ * @param previousStatus 変更前の予約状態（新規作成時はnull）
+ * @param currentStatus  変更後の予約状態（削除時はnull）
+ */
+public record ReservationChangedEvent(
+        Long reservationId,
+        Long facilityId,
+        Long userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Reservation.ReservationStatus previousStatus,
+        Reservation.ReservationStatus currentStatus) {
+
+    /**
+     * 予約作成イベントを生成する
+     *
+     * @param reservation 作成された予約
+     * @return 予約変更イベント
+     */
+    public static ReservationChangedEvent created(Reservation reservation) {
+        return of(reservation, null, reservation.getStatus());
+    }
+
+    /**
+     * 予約状態変更イベントを生成する
+     *
+     * @param reservation    状態が変更された予約
+     * @param previousStatus 変更前の予約状態
+     * @return 予約変更イベント
+     */
+    public static ReservationChangedEvent statusChanged(Reservation reservation, Reservation.ReservationStatus previousStatus) {
+        return of(reservation, previousStatus, reservation.getStatus());
+    }
+
+    /**
+     * 予約削除イベントを生成する
+     *
+     * @param reservation 削除された予約
+     * @return 予約変更イベント
+     */
+    public static ReservationChangedEvent deleted(Reservation reservation) {
+        return of(reservation, reservation.getStatus(), null);
+    }
+
+    private static ReservationChangedEvent of(Reservation reservation,
+                                              Reservation.ReservationStatus previousStatus,
+                                              Reservation.ReservationStatus currentStatus) {
+        return new ReservationChangedEvent(
+                reservation.getId(),
+                reservation.getFacility().getId(),
+                reservation.getUser().getId(),
+                reservation.getStartTime(),
+                reservation.getEndTime(),
+                previousStatus,
+                currentStatus);
+    }
+
+    /**
+     * 変更後の予約が承認済み（時間枠を占有している）かどうか
+     *
+     * @return 承認済みの場合はtrue
+     */
+    public boolean isApprovedAfter() {
+        return currentStatus == Reservation.ReservationStatus.APPROVED;
+    }
+
+    /**
+     * 変更前の予約が承認済み（時間枠を占有していた）かどうか
+     *
+     * @return 承認済みだった場合はtrue
+     */
+    public boolean wasApprovedBefore() {
+        return previousStatus == Reservation.ReservationStatus.APPROVED;
+    }
+}
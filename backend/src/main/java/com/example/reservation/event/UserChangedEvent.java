@@ -0,0 +1,35 @@
+package com.example.reservation.event;
+
+import com.example.reservation.model.entity.User;
+
+/**
+ * ユーザーの登録・更新・削除を通知するアプリケーションイベント
+ * ユーザー情報のキャッシュの無効化や、ユーザー名・メールアドレスの使用状況の更新に使用される
+ *
+ * @param userId   ユーザーID
+ * @param username ユーザー名（削除時はnull）
+ * @param email    メールアドレス（削除時はnull）
+ * @param deleted  ユーザーが削除された場合はtrue
+ */
+public record UserChangedEvent(Long userId, String username, String email, boolean deleted) {
+
+    /**
+     * ユーザーの登録・更新イベントを生成する
+     *
+     * @param user 登録・更新されたユーザー
+     * @return ユーザー変更イベント
+     */
+    public static UserChangedEvent changed(User user) {
+        return new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail(), false);
+    }
+
+    /**
+     * ユーザーの削除イベントを生成する
+     *
+     * @param userId 削除されたユーザーのID
+     * @return ユーザー変更イベント
+     */
+    public static UserChangedEvent deleted(Long userId) {
+        return new UserChangedEvent(userId, null, null, true);
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.reservation.exception;
 
 import com.example.reservation.model.common.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -82,6 +84,50 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * 認証情報が存在しない場合の例外を処理します。
+     * HTTP 401 Unauthorizedステータスを返します。
+     *
+     * @param ex 発生したAuthenticationCredentialsNotFoundException
+     * @return エラーメッセージを含むResponseEntity
+     */
+    @ExceptionHandler(AuthenticationCredentialsNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleAuthenticationCredentialsNotFoundException(AuthenticationCredentialsNotFoundException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return new ResponseEntity<>(errors, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * ユーザー名またはメールアドレスが重複している場合の例外を処理します。
+     * HTTP 409 Conflictステータスを返します。
+     *
+     * @param ex 発生したDuplicateUserException
+     * @return エラーメッセージを含むResponseEntity
+     */
+    @ExceptionHandler(DuplicateUserException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateUserException(DuplicateUserException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return new ResponseEntity<>(errors, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * サーバーの混雑によりリクエストを受け付けられない場合の例外を処理します。
+     * HTTP 503 Service Unavailableステータスと、再試行までの秒数を示すRetry-Afterヘッダーを返します。
+     *
+     * @param ex 発生したServerBusyException
+     * @return エラーメッセージを含むResponseEntity
+     */
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<Map<String, String>> handleServerBusyException(ServerBusyException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(errors);
+    }
+
     /**
      * その他の予期しない例外を処理します。
      * HTTP 500 Internal Server Errorステータスを返します。
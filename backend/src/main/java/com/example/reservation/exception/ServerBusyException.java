@@ -0,0 +1,36 @@
+package com.example.reservation.exception;
+
+import java.time.Duration;
+
+/**
+ * サーバーが混雑しており、リクエストを受け付けられない場合に発生する例外クラス。
+ * この例外がスローされると、HTTP 503（Service Unavailable）ステータスコードと
+ * 再試行までの目安を示すRetry-Afterヘッダーをクライアントに返します。
+ */
+public class ServerBusyException extends RuntimeException {
+
+    /**
+     * クライアントが再試行するまでの目安の時間
+     */
+    private final Duration retryAfter;
+
+    /**
+     * 指定されたエラーメッセージと再試行までの時間を持つ新しいServerBusyExceptionを構築します。
+     *
+     * @param message    エラーの詳細を説明するメッセージ文字列
+     * @param retryAfter クライアントが再試行するまでの目安の時間
+     */
+    public ServerBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * クライアントが再試行するまでの目安の時間を取得します。
+     *
+     * @return 再試行までの時間
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
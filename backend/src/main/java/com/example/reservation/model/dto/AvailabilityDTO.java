@@ -0,0 +1,82 @@
+package com.example.reservation.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 施設の空き状況を表すデータ転送オブジェクト（DTO）
+ * 指定期間を一定の粒度の時間枠に区切り、各枠が予約可能かどうかを返す
+ */
+@Data  // Lombokアノテーション：getter、setter、equals、hashCode、toStringメソッドを自動生成
+public class AvailabilityDTO {
+    /**
+     * 施設ID
+     */
+    private Long facilityId;
+
+    /**
+     * 期間の開始日
+     */
+    private LocalDate from;
+
+    /**
+     * 期間の終了日（この日を含む）
+     */
+    private LocalDate to;
+
+    /**
+     * 時間枠の粒度（分）
+     */
+    private int granularityMinutes;
+
+    /**
+     * 日ごとの空き状況
+     */
+    private List<Day> days;
+
+    /**
+     * 1日分の空き状況
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Day {
+        /**
+         * 対象日
+         */
+        private LocalDate date;
+
+        /**
+         * 時間枠の一覧（開始時間順）
+         */
+        private List<Slot> slots;
+    }
+
+    /**
+     * 1つの時間枠の空き状況
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Slot {
+        /**
+         * 枠の開始日時
+         */
+        private LocalDateTime startTime;
+
+        /**
+         * 枠の終了日時
+         */
+        private LocalDateTime endTime;
+
+        /**
+         * 予約可能な場合はtrue、承認済みの予約と重なる場合はfalse
+         */
+        private boolean available;
+    }
+}
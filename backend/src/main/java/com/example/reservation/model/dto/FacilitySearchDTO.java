@@ -0,0 +1,55 @@
+package com.example.reservation.model.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 施設の絞り込み条件を表すデータ転送オブジェクト（DTO）
+ * クエリパラメータから生成され、指定された項目のみで絞り込みを行う
+ */
+@Data
+public class FacilitySearchDTO {
+    /**
+     * 施設名の一部（大文字・小文字を区別しない部分一致、nullの場合は絞り込まない）
+     */
+    private String name;
+
+    /**
+     * 場所の一部（大文字・小文字を区別しない部分一致、nullの場合は絞り込まない）
+     */
+    private String location;
+
+    /**
+     * 最小収容人数（nullの場合は絞り込まない）
+     */
+    private Integer minCapacity;
+
+    /**
+     * 最大収容人数（nullの場合は絞り込まない）
+     */
+    private Integer maxCapacity;
+
+    /**
+     * この日時からavailableToまでの時間帯に空いている施設に絞り込む（ISO形式）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime availableFrom;
+
+    /**
+     * availableFromからこの日時までの時間帯に空いている施設に絞り込む（ISO形式）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime availableTo;
+
+    /**
+     * キーワード検索（施設名のみ）以外の絞り込み条件が指定されているかどうか
+     *
+     * @return 施設名以外の条件が1つでも指定されている場合はtrue
+     */
+    public boolean hasStructuredFilter() {
+        return location != null || minCapacity != null || maxCapacity != null
+                || availableFrom != null || availableTo != null;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.reservation.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 予約の一括作成時に使用するデータ転送オブジェクト（DTO）
+ * 予約のリスト（reservations）または繰り返しルール（recurrence）のどちらか一方を指定する
+ */
+@Data
+public class ReservationBatchDTO {
+    /**
+     * 作成する予約のリスト
+     * 繰り返しルールを指定する場合は省略する
+     */
+    @Valid
+    private List<ReservationCreateDTO> reservations;
+
+    /**
+     * 繰り返しルール
+     * 予約のリストを指定する場合は省略する
+     */
+    @Valid
+    private Recurrence recurrence;
+
+    /**
+     * 一部の予約が作成できない場合の扱い
+     * 省略した場合はALL_OR_NOTHING（1件でも作成できなければ何も作成しない）
+     */
+    private Mode mode = Mode.ALL_OR_NOTHING;
+
+    /**
+     * 繰り返し予約のルール
+     * 初回の予約（template）を基準に、指定された頻度で回数（count）または終了日（until）まで予約を展開する
+     * countとuntilの両方を指定した場合は、先に到達した方で終了する
+     */
+    @Data
+    public static class Recurrence {
+        /**
+         * 初回の予約内容（施設・時間帯・目的）
+         */
+        @NotNull(message = "初回の予約内容は必須です")
+        @Valid
+        private ReservationCreateDTO template;
+
+        /**
+         * 繰り返しの頻度
+         */
+        @NotNull(message = "繰り返しの頻度は必須です")
+        private Frequency frequency;
+
+        /**
+         * 繰り返しの間隔（例：WEEKLYで2の場合は隔週）
+         */
+        @Min(value = 1, message = "繰り返しの間隔は1以上である必要があります")
+        private int interval = 1;
+
+        /**
+         * 繰り返しの回数（初回を含む）
+         */
+        @Min(value = 1, message = "繰り返しの回数は1以上である必要があります")
+        private Integer count;
+
+        /**
+         * 繰り返しの終了日（この日に開始する予約を含む）
+         */
+        private LocalDate until;
+    }
+
+    /**
+     * 繰り返しの頻度
+     * DAILY: 毎日
+     * WEEKLY: 毎週
+     */
+    public enum Frequency {
+        DAILY, WEEKLY
+    }
+
+    /**
+     * 一括作成の方式
+     * ALL_OR_NOTHING: すべての予約が作成可能な場合のみ作成する
+     * BEST_EFFORT: 作成可能な予約のみ作成する
+     */
+    public enum Mode {
+        ALL_OR_NOTHING, BEST_EFFORT
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.reservation.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 予約の一括作成結果を表すデータ転送オブジェクト（DTO）
+ * 予約ごとの作成結果と、作成・拒否された件数を含む
+ */
+@Data
+public class ReservationBatchResultDTO {
+    /**
+     * 一括作成の方式
+     */
+    private ReservationBatchDTO.Mode mode;
+
+    /**
+     * 作成された予約の件数
+     */
+    private int createdCount;
+
+    /**
+     * 作成されなかった予約の件数
+     */
+    private int rejectedCount;
+
+    /**
+     * 予約ごとの作成結果（リクエストまたは繰り返しの展開順）
+     */
+    private List<Item> results;
+
+    /**
+     * 1件分の予約の作成結果
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        /**
+         * リクエスト内での位置（0始まり）
+         */
+        private int index;
+
+        /**
+         * 施設ID
+         */
+        private Long facilityId;
+
+        /**
+         * 予約開始時間
+         */
+        private LocalDateTime startTime;
+
+        /**
+         * 予約終了時間
+         */
+        private LocalDateTime endTime;
+
+        /**
+         * 作成された予約（作成されなかった場合はnull）
+         */
+        private ReservationDTO reservation;
+
+        /**
+         * 作成されなかった理由（作成された場合はnull）
+         */
+        private String error;
+    }
+}
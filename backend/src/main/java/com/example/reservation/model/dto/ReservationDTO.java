@@ -1,7 +1,9 @@
 package com.example.reservation.model.dto;
 
 import com.example.reservation.model.entity.Reservation;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
@@ -9,8 +11,11 @@ import java.time.LocalDateTime;
  * 予約情報のデータ転送オブジェクト（DTO）
  * エンティティとプレゼンテーション層の間でデータをやり取りするために使用される
  * Lombokの@Dataアノテーションにより、getter、setter、equals、hashCode、toStringメソッドが自動生成される
+ * 全項目のコンストラクタは、リポジトリのJPQLコンストラクタ式による射影で使用される
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReservationDTO {
     /**
      * 予約ID
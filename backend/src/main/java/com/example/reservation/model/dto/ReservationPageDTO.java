@@ -0,0 +1,25 @@
+package com.example.reservation.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * キーセットページネーションによる予約一覧の1ページ分を表すデータ転送オブジェクト（DTO）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationPageDTO {
+    /**
+     * このページの予約（開始時間・IDの昇順）
+     */
+    private List<ReservationDTO> items;
+
+    /**
+     * 次のページを取得するためのカーソル（最後のページの場合はnull）
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,41 @@
+package com.example.reservation.model.dto;
+
+import com.example.reservation.model.entity.Reservation;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 予約一覧の絞り込み条件を表すデータ転送オブジェクト（DTO）
+ * クエリパラメータから生成され、指定された項目のみで絞り込みを行う
+ */
+@Data
+public class ReservationSearchDTO {
+    /**
+     * 施設ID（nullの場合は絞り込まない）
+     */
+    private Long facilityId;
+
+    /**
+     * ユーザーID（nullの場合は絞り込まない）
+     */
+    private Long userId;
+
+    /**
+     * 予約状態（nullの場合は絞り込まない）
+     */
+    private Reservation.ReservationStatus status;
+
+    /**
+     * この日時以降に開始する予約に絞り込む（ISO形式）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    /**
+     * この日時より前に開始する予約に絞り込む（ISO形式）
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
@@ -0,0 +1,24 @@
+package com.example.reservation.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ユーザー名・メールアドレスの使用可否を表すデータ転送オブジェクト
+ * 確認を指定しなかった項目はnullとなる
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAvailabilityDTO {
+    /**
+     * ユーザー名が使用可能かどうか
+     */
+    private Boolean usernameAvailable;
+
+    /**
+     * メールアドレスが使用可能かどうか
+     */
+    private Boolean emailAvailable;
+}
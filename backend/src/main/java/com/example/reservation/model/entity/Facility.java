@@ -2,15 +2,20 @@ package com.example.reservation.model.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 /**
  * 施設情報を表すエンティティクラス
  * データベースの "facilities" テーブルにマッピングされる
+ * 変更が少なく予約作成のたびに読み込まれるため、第2レベルキャッシュ（READ_WRITE）の対象とする
  */
 @Entity
 @Table(name = "facilities")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "facilities")
 @Data // Lombokアノテーション：getter、setter、equals、hashCode、toStringメソッドを自動生成
 public class Facility {
     /**
@@ -8,9 +8,14 @@ import java.time.LocalDateTime;
 /**
  * 予約情報を表すエンティティクラス
  * データベースの "reservations" テーブルにマッピングされる
+ * 予約一覧のキーセットページネーション（開始時間, ID順）のため、絞り込み条件ごとに複合インデックスを定義する
  */
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_reservations_facility_start_time_id", columnList = "facility_id, start_time, id"),
+        @Index(name = "idx_reservations_user_start_time_id", columnList = "user_id, start_time, id")
+})
 @Data // Lombokアノテーション：getter、setter、equals、hashCode、toStringメソッドを自動生成
 public class Reservation {
     /**
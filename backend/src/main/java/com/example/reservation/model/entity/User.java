@@ -3,16 +3,37 @@ package com.example.reservation.model.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * ユーザー情報を表すエンティティクラス
  * データベースの "users" テーブルにマッピングされる
+ * 第2レベルキャッシュ（READ_WRITE）の対象とし、ユーザー名（ナチュラルID）からIDへの解決もキャッシュする
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @Data // Lombokアノテーション：getter、setter、equals、hashCode、toStringメソッドを自動生成
 @EqualsAndHashCode(callSuper = false) // スーパークラスのequals/hashCodeを呼び出さない
 public class User extends BaseEntity {
+    /**
+     * ユーザー名の一意制約の名前（一意制約違反の原因となった列の判定に使用）
+     */
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+
+    /**
+     * メールアドレスの一意制約の名前（一意制約違反の原因となった列の判定に使用）
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     /**
      * ユーザーID（主キー）
      * 自動採番される
@@ -23,16 +44,18 @@ public class User extends BaseEntity {
 
     /**
      * ユーザー名
-     * NULL不可、一意制約あり、最大長50文字
+     * NULL不可、一意制約あり（{@link #USERNAME_CONSTRAINT}）、最大長50文字
+     * 登録後は変更されないナチュラルID
      */
-    @Column(nullable = false, unique = true, length = 50)
+    @NaturalId
+    @Column(nullable = false, length = 50)
     private String username;
 
     /**
      * メールアドレス
-     * NULL不可、一意制約あり、最大長100文字
+     * NULL不可、一意制約あり（{@link #EMAIL_CONSTRAINT}）、最大長100文字
      */
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     /**
@@ -97,4 +120,13 @@ public class User extends BaseEntity {
      */
     @Column(length = 20)
     private String phoneNumber;
+
+    /**
+     * トークンバージョン
+     * JWTトークンに埋め込まれ、パスワード変更時などにインクリメントすることで
+     * それ以前に発行されたトークンを無効化する
+     * 既存の行に追加できるよう、データベース側の既定値を0とする
+     */
+    @Column(name = "token_version", nullable = false, columnDefinition = "bigint default 0")
+    private long tokenVersion;
 }
\ No newline at end of file
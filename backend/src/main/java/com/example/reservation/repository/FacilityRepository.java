@@ -1,8 +1,12 @@
 package com.example.reservation.repository;
 
 import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -10,7 +14,7 @@ import java.util.List;
  * Spring Data JPAのJpaRepositoryを拡張し、Facilityエンティティに対する基本的なCRUD操作を自動的に提供する
  * 主キーの型はLong型
  */
-public interface FacilityRepository extends JpaRepository<Facility, Long> {
+public interface FacilityRepository extends JpaRepository<Facility, Long>, FacilityRepositoryCustom {
 
     /**
      * 施設名に特定の文字列が含まれる施設を検索するメソッド
@@ -28,4 +32,27 @@ public interface FacilityRepository extends JpaRepository<Facility, Long> {
      * @return 指定した収容人数以上の施設のリスト（該当するものがない場合は空のリスト）
      */
     List<Facility> findByCapacityGreaterThanEqual(Integer minCapacity);
-}
\ No newline at end of file
+
+    /**
+     * 指定した収容人数以上で、指定した時間帯に予約が入っていない施設を検索するメソッド
+     * 重複する予約の有無をNOT EXISTSの相関サブクエリ（アンチジョイン）で判定するため、
+     * 施設ごとに重複チェックを行うことなく1回のクエリで空いている施設を取得できる
+     * 重複条件は予約の重複検索クエリと同じく境界値を含む
+     * 結果は収容人数の昇順（必要な人数に最も近い施設が先頭）、同じ収容人数の場合はID順に並ぶ
+     *
+     * @param minCapacity 検索する最小収容人数（nullの場合は収容人数で絞り込まず、収容人数が未設定の施設も含む）
+     * @param status      時間枠を占有する予約の状態（承認済み）
+     * @param startTime   開始時間
+     * @param endTime     終了時間
+     * @return 条件に一致する施設のリスト（該当するものがない場合は空のリスト）
+     */
+    @Query("SELECT f FROM Facility f WHERE (:minCapacity IS NULL OR f.capacity >= :minCapacity) " +
+            "AND NOT EXISTS (SELECT 1 FROM Reservation r WHERE r.facility = f AND r.status = :status " +
+            "AND r.startTime <= :endTime AND r.endTime >= :startTime) " +
+            "ORDER BY f.capacity ASC, f.id ASC")
+    List<Facility> findAvailableByCapacity(
+            @Param("minCapacity") Integer minCapacity,
+            @Param("status") Reservation.ReservationStatus status,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+}
@@ -0,0 +1,24 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.dto.FacilitySearchDTO;
+import com.example.reservation.model.entity.Facility;
+
+import java.util.List;
+
+/**
+ * Spring Dataのクエリメソッドでは表現しにくい、動的な条件を持つ施設の検索を定義するインターフェース
+ * 実装は {@link FacilityRepositoryImpl} で提供され、{@link FacilityRepository} から利用できる
+ */
+public interface FacilityRepositoryCustom {
+
+    /**
+     * 絞り込み条件のすべてに一致する施設を、収容人数・IDの昇順で1回のクエリにより取得するメソッド
+     * 施設名・場所の部分一致、収容人数の範囲、指定された時間帯に承認済み予約がないこと、を組み合わせられる
+     *
+     * @param filter 絞り込み条件（nullの項目は絞り込まない）
+     * @param offset 読み飛ばす件数
+     * @param limit  取得する最大件数
+     * @return 条件に一致する施設のリスト
+     */
+    List<Facility> findByFilter(FacilitySearchDTO filter, int offset, int limit);
+}
@@ -0,0 +1,85 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.dto.FacilitySearchDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link FacilityRepositoryCustom} の実装クラス
+ * 指定された条件のみをCriteria APIで組み立て、1回のクエリとして実行する
+ * <p>
+ * 部分一致は lower(name) LIKE '%x%' として発行され、pg_trgm のGINインデックス（facilities_name_trgm_idx）、
+ * 収容人数の範囲はB-treeインデックス（facilities_capacity_idx）で検索される
+ * （インデックスは db/facility-search-indexes.sql で作成する）
+ */
+public class FacilityRepositoryImpl implements FacilityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Facility> findByFilter(FacilitySearchDTO filter, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Facility> query = cb.createQuery(Facility.class);
+        Root<Facility> facility = query.from(Facility.class);
+
+        // 指定された絞り込み条件のみを追加する
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getName() != null && !filter.getName().isEmpty()) {
+            predicates.add(containsIgnoreCase(cb, facility.get("name"), filter.getName()));
+        }
+        if (filter.getLocation() != null && !filter.getLocation().isEmpty()) {
+            predicates.add(containsIgnoreCase(cb, facility.get("location"), filter.getLocation()));
+        }
+        if (filter.getMinCapacity() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(facility.get("capacity"), filter.getMinCapacity()));
+        }
+        if (filter.getMaxCapacity() != null) {
+            predicates.add(cb.lessThanOrEqualTo(facility.get("capacity"), filter.getMaxCapacity()));
+        }
+        if (filter.getAvailableFrom() != null && filter.getAvailableTo() != null) {
+            // 時間帯が重なる承認済み予約が存在しないこと（アンチジョイン）
+            // 重複条件は予約の重複検索クエリと同じく境界値を含む
+            Subquery<Integer> overlapping = query.subquery(Integer.class);
+            Root<Reservation> reservation = overlapping.from(Reservation.class);
+            overlapping.select(cb.literal(1)).where(
+                    cb.equal(reservation.get("facility"), facility),
+                    cb.equal(reservation.get("status"), Reservation.ReservationStatus.APPROVED),
+                    cb.lessThanOrEqualTo(reservation.get("startTime"), filter.getAvailableTo()),
+                    cb.greaterThanOrEqualTo(reservation.get("endTime"), filter.getAvailableFrom()));
+            predicates.add(cb.not(cb.exists(overlapping)));
+        }
+
+        query.select(facility)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(facility.get("capacity")), cb.asc(facility.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 大文字・小文字を区別しない部分一致の条件（lower(項目) LIKE '%値%'）
+     * 値に含まれる % と _ はワイルドカードとして扱わない
+     */
+    private static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> field, String value) {
+        String escaped = value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return cb.like(cb.lower(field), "%" + escaped + "%", '\\');
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.entity.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 予約データをJDBCで直接操作するリポジトリ
+ * JPAのsaveでは1件ずつ発行されるINSERTを、JDBCのバッチとしてまとめて発行するために使用する
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationJdbcRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO reservations (facility_id, user_id, start_time, end_time, purpose, status, created_at, updated_at) " +
+            "VALUES (:facilityId, :userId, :startTime, :endTime, :purpose, :status, :createdAt, :updatedAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 予約をJDBCバッチで一括登録するメソッド
+     * 採番されたIDと作成日時・更新日時は引数の予約エンティティに設定される
+     * （JPAを経由しないため、@PrePersistによる日時の設定はここで代わりに行う）
+     *
+     * @param reservations 登録する予約のリスト（施設・ユーザーが設定されていること）
+     */
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        SqlParameterSource[] batchArgs = new SqlParameterSource[reservations.size()];
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            reservation.setCreatedAt(now);
+            reservation.setUpdatedAt(now);
+            batchArgs[i] = new MapSqlParameterSource()
+                    .addValue("facilityId", reservation.getFacility().getId())
+                    .addValue("userId", reservation.getUser().getId())
+                    .addValue("startTime", reservation.getStartTime())
+                    .addValue("endTime", reservation.getEndTime())
+                    .addValue("purpose", reservation.getPurpose())
+                    .addValue("status", reservation.getStatus().name())
+                    .addValue("createdAt", now)
+                    .addValue("updatedAt", now);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, keyHolder, new String[]{"id"});
+
+        // 採番されたIDを登録順に設定
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < reservations.size(); i++) {
+            reservations.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+}
@@ -1,21 +1,26 @@
 package com.example.reservation.repository;
 
+import com.example.reservation.model.dto.ReservationDTO;
 import com.example.reservation.model.entity.Reservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 予約情報に関するデータアクセスを提供するリポジトリインターフェース
  * Spring Data JPAを使用してCRUD操作を実装
  */
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
     /**
      * 施設IDに基づいて予約を検索するメソッド
@@ -26,6 +31,15 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      */
     List<Reservation> findByFacilityId(Long facilityId);
 
+    /**
+     * 指定された施設に予約が存在するかどうかを確認するメソッド
+     * 施設の削除可否の判定に使用される
+     *
+     * @param facilityId 施設ID
+     * @return 予約が存在する場合はtrue
+     */
+    boolean existsByFacilityId(Long facilityId);
+
     /**
      * ユーザーIDに基づいて予約を検索するメソッド
      * 指定されたユーザーが行ったすべての予約を返す
@@ -36,72 +50,181 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByUserId(Long userId);
 
     /**
-     * ユーザーIDに基づいて予約を検索し、施設とユーザー情報を一緒に取得するメソッド
-     * JOIN FETCHを使用してLazyInitializationExceptionを回避
+     * 施設IDと予約状態に基づいて予約を検索するメソッド
+     * インターバル索引の初回読み込み時に、施設の承認済み予約を取得するために使用する
+     *
+     * @param facilityId 検索対象の施設ID
+     * @param status     検索対象の予約状態
+     * @return 条件に一致する予約のリスト
+     */
+    List<Reservation> findByFacilityIdAndStatus(Long facilityId, Reservation.ReservationStatus status);
+
+    /**
+     * 指定された期間 [from, to] と時間帯が重なる、施設・予約状態に一致する予約を検索するメソッド
+     * 空き状況カレンダーのビットセットを構築する際に、複数日分をまとめて取得するために使用する
+     * 重複条件は予約の重複検索クエリと同じく境界値を含む（期間の端に接する予約も含まれる）
+     *
+     * @param facilityId 検索対象の施設ID
+     * @param status     検索対象の予約状態
+     * @param from       期間の開始日時
+     * @param to         期間の終了日時（この日時を含む）
+     * @return 条件に一致する予約のリスト
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.facility.id = :facilityId AND r.status = :status " +
+            "AND r.startTime <= :to AND r.endTime >= :from")
+    List<Reservation> findByFacilityIdAndStatusWithin(
+            @Param("facilityId") Long facilityId,
+            @Param("status") Reservation.ReservationStatus status,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * 予約DTOの射影（コンストラクタ式）で使用するSELECT句とFROM句
+     * 施設とユーザーのエンティティ全体（パスワードハッシュや自己紹介、アバターなど）は読み込まず、
+     * ReservationDTOに必要な9つのカラムのみを取得する
+     */
+    String DTO_PROJECTION = "SELECT new com.example.reservation.model.dto.ReservationDTO(" +
+            "r.id, f.id, f.name, u.id, u.username, r.startTime, r.endTime, r.purpose, r.status) " +
+            "FROM Reservation r JOIN r.facility f JOIN r.user u";
+
+    /**
+     * IDに基づいて予約を検索し、予約DTOとして取得するメソッド
+     *
+     * @param id 検索対象の予約ID
+     * @return 指定された予約のDTO
+     */
+    @Query(DTO_PROJECTION + " WHERE r.id = :id")
+    Optional<ReservationDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * 全ての予約を予約DTOとして取得するメソッド
+     *
+     * @return 全予約のDTOリスト
+     */
+    @Query(DTO_PROJECTION)
+    List<ReservationDTO> findAllDtos();
+
+    /**
+     * 施設IDに基づいて予約を検索し、予約DTOとして取得するメソッド
+     *
+     * @param facilityId 検索対象の施設ID
+     * @return 指定された施設に関連する予約のDTOリスト
+     */
+    @Query(DTO_PROJECTION + " WHERE f.id = :facilityId")
+    List<ReservationDTO> findDtosByFacilityId(@Param("facilityId") Long facilityId);
+
+    /**
+     * ユーザーIDに基づいて予約を検索し、予約DTOとして取得するメソッド
      *
      * @param userId 検索対象のユーザーID
-     * @return 指定されたユーザーに関連する予約のリスト（施設とユーザー情報を含む）
+     * @return 指定されたユーザーに関連する予約のDTOリスト
      */
-    @Query("SELECT r FROM Reservation r JOIN FETCH r.facility JOIN FETCH r.user WHERE r.user.id = :userId")
-    List<Reservation> findByUserIdWithFacilityAndUser(@Param("userId") Long userId);
+    @Query(DTO_PROJECTION + " WHERE u.id = :userId")
+    List<ReservationDTO> findDtosByUserId(@Param("userId") Long userId);
 
     /**
-     * 施設IDに基づいて予約を検索し、施設とユーザー情報を一緒に取得するメソッド
-     * JOIN FETCHを使用してLazyInitializationExceptionを回避
+     * 指定されたステータスと開始時間以降の予約を検索し、予約DTOとして取得するメソッド
+     * 特定のステータス（例：承認待ち）で、指定された時間以降に開始する予約を取得するのに有用
+     *
+     * @param status    検索対象の予約ステータス
+     * @param startTime この時間以降に開始する予約を検索
+     * @return 条件に一致する予約のDTOリスト
+     */
+    @Query(DTO_PROJECTION + " WHERE r.status = :status AND r.startTime > :startTime")
+    List<ReservationDTO> findDtosByStatusAndStartTimeAfter(
+            @Param("status") Reservation.ReservationStatus status,
+            @Param("startTime") LocalDateTime startTime);
+
+    /**
+     * すべての予約を施設とユーザー情報と一緒にストリームとして取得するメソッド
+     * フェッチサイズを指定してデータベースのカーソルから少しずつ読み込むため、件数に関わらず一度にメモリへ展開しない
+     * 読み取り専用のヒントによりスナップショットを保持しない
+     * トランザクション内で呼び出し、使用後はストリームを閉じる必要がある
+     *
+     * @return 開始時間・ID順の予約のストリーム
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r JOIN FETCH r.facility JOIN FETCH r.user ORDER BY r.startTime ASC, r.id ASC")
+    Stream<Reservation> streamAllWithFacilityAndUser();
+
+    /**
+     * 予約一覧の検証子（件数と最終更新日時）を取得するためのクエリ
+     * 一覧に含まれる施設名・ユーザー名の変更も反映されるよう、施設・ユーザーの更新日時も集計する
+     */
+    String LIST_VERSION_PROJECTION = "SELECT COUNT(r) AS count, MAX(r.updatedAt) AS reservationUpdatedAt, " +
+            "MAX(f.updatedAt) AS facilityUpdatedAt, MAX(u.updatedAt) AS userUpdatedAt " +
+            "FROM Reservation r JOIN r.facility f JOIN r.user u";
+
+    /**
+     * 施設IDに基づく予約一覧の件数と最終更新日時を取得するメソッド
+     * 一覧の条件付きGET（ETag）の判定に使用される
      *
      * @param facilityId 検索対象の施設ID
-     * @return 指定された施設に関連する予約のリスト（施設とユーザー情報を含む）
+     * @return 一覧の件数と最終更新日時
      */
-    @Query("SELECT r FROM Reservation r JOIN FETCH r.facility JOIN FETCH r.user WHERE r.facility.id = :facilityId")
-    List<Reservation> findByFacilityIdWithFacilityAndUser(@Param("facilityId") Long facilityId);
+    @Query(LIST_VERSION_PROJECTION + " WHERE f.id = :facilityId")
+    ListVersion findListVersionByFacilityId(@Param("facilityId") Long facilityId);
 
     /**
-     * 全ての予約を検索し、施設とユーザー情報を一緒に取得するメソッド
-     * JOIN FETCHを使用してLazyInitializationExceptionを回避
+     * ユーザーIDに基づく予約一覧の件数と最終更新日時を取得するメソッド
+     * 一覧の条件付きGET（ETag）の判定に使用される
      *
-     * @return 全予約のリスト（施設とユーザー情報を含む）
+     * @param userId 検索対象のユーザーID
+     * @return 一覧の件数と最終更新日時
      */
-    @Query("SELECT r FROM Reservation r JOIN FETCH r.facility JOIN FETCH r.user")
-    List<Reservation> findAllWithFacilityAndUser();
+    @Query(LIST_VERSION_PROJECTION + " WHERE u.id = :userId")
+    ListVersion findListVersionByUserId(@Param("userId") Long userId);
 
     /**
-     * IDに基づいて予約を検索し、施設とユーザー情報を一緒に取得するメソッド
-     * JOIN FETCHを使用してLazyInitializationExceptionを回避
+     * 指定されたステータスと開始時間以降の予約一覧の件数と最終更新日時を取得するメソッド
+     * 条件は {@link #findDtosByStatusAndStartTimeAfter} と同じ
      *
-     * @param id 検索対象の予約ID
-     * @return 指定された予約（施設とユーザー情報を含む）
+     * @param status    検索対象の予約ステータス
+     * @param startTime この時間以降に開始する予約を対象とする
+     * @return 一覧の件数と最終更新日時
      */
-    @Query("SELECT r FROM Reservation r JOIN FETCH r.facility JOIN FETCH r.user WHERE r.id = :id")
-    Optional<Reservation> findByIdWithFacilityAndUser(@Param("id") Long id);
+    @Query(LIST_VERSION_PROJECTION + " WHERE r.status = :status AND r.startTime > :startTime")
+    ListVersion findListVersionByStatusAndStartTimeAfter(
+            @Param("status") Reservation.ReservationStatus status,
+            @Param("startTime") LocalDateTime startTime);
 
     /**
      * 指定された時間範囲と施設IDに基づいて重複する予約を検索するメソッド
      * 承認済み（APPROVED）の予約のみを対象とする
      * 予約時間が重複するかどうかは、新しい予約の開始時間が既存の予約の終了時間以前かつ
      * 新しい予約の終了時間が既存の予約の開始時間以降かどうかで判断
+     * <p>
+     * 両端を含む範囲型（time_range）の重なり演算子で検索することで、
+     * 排他制約 reservations_no_overlap のGiSTインデックスによる検索となる
      *
      * @param facilityId 検索対象の施設ID
      * @param startTime  予約開始時間
      * @param endTime    予約終了時間
      * @return 重複する予約のリスト
      */
-    @Query("SELECT r FROM Reservation r WHERE r.facility.id = :facilityId " +
-            "AND ((r.startTime <= :endTime AND r.endTime >= :startTime) " +
-            "AND r.status = 'APPROVED')")
+    @Query(value = "SELECT r.* FROM reservations r WHERE r.facility_id = :facilityId " +
+            "AND r.status = 'APPROVED' " +
+            "AND r.time_range && tsrange(CAST(:startTime AS timestamp), CAST(:endTime AS timestamp), '[]')",
+            nativeQuery = true)
     List<Reservation> findOverlappingReservations(
             @Param("facilityId") Long facilityId,
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime);
 
     /**
-     * 指定されたステータスと開始時間以降の予約を検索するメソッド
-     * 特定のステータス（例：承認待ち）で、指定された時間以降に開始する予約を取得するのに有用
-     *
-     * @param status    検索対象の予約ステータス
-     * @param startTime この時間以降に開始する予約を検索
-     * @return 条件に一致する予約のリスト
+     * 予約一覧の件数と、予約・施設・ユーザーそれぞれの最終更新日時を取得するためのプロジェクション
+     * 一覧が空の場合、最終更新日時はnullとなる
      */
-    List<Reservation> findByStatusAndStartTimeAfter(
-            Reservation.ReservationStatus status,
-            LocalDateTime startTime);
-}
\ No newline at end of file
+    interface ListVersion {
+        long getCount();
+
+        LocalDateTime getReservationUpdatedAt();
+
+        LocalDateTime getFacilityUpdatedAt();
+
+        LocalDateTime getUserUpdatedAt();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.dto.ReservationSearchDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spring Dataのクエリメソッドでは表現しにくい、動的な条件を持つ予約の検索を定義するインターフェース
+ * 実装は {@link ReservationRepositoryImpl} で提供され、{@link ReservationRepository} から利用できる
+ */
+public interface ReservationRepositoryCustom {
+
+    /**
+     * 絞り込み条件に一致する予約を、(開始時間, ID) の昇順でカーソルの次から取得するメソッド
+     * OFFSETを使わず (開始時間, ID) のキーで位置を指定するため、後ろのページでも取得コストが変わらない
+     * 結果は予約DTOに必要なカラムのみを選択した射影として取得する
+     *
+     * @param search          絞り込み条件
+     * @param cursorStartTime カーソル位置の開始時間（nullの場合は先頭から）
+     * @param cursorId        カーソル位置の予約ID
+     * @param limit           取得する最大件数
+     * @return 条件に一致する予約のDTOリスト
+     */
+    List<ReservationDTO> findPageAfter(ReservationSearchDTO search, LocalDateTime cursorStartTime, Long cursorId, int limit);
+}
@@ -0,0 +1,62 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.dto.ReservationSearchDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ReservationRepositoryCustom} の実装クラス
+ * 指定された条件のみを含むJPQLを組み立て、予約DTOの射影として実行する
+ */
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationDTO> findPageAfter(ReservationSearchDTO search, LocalDateTime cursorStartTime, Long cursorId, int limit) {
+        StringBuilder jpql = new StringBuilder(ReservationRepository.DTO_PROJECTION).append(" WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        // 指定された絞り込み条件のみを追加する
+        if (search.getFacilityId() != null) {
+            jpql.append(" AND f.id = :facilityId");
+            parameters.put("facilityId", search.getFacilityId());
+        }
+        if (search.getUserId() != null) {
+            jpql.append(" AND u.id = :userId");
+            parameters.put("userId", search.getUserId());
+        }
+        if (search.getStatus() != null) {
+            jpql.append(" AND r.status = :status");
+            parameters.put("status", search.getStatus());
+        }
+        if (search.getFrom() != null) {
+            jpql.append(" AND r.startTime >= :from");
+            parameters.put("from", search.getFrom());
+        }
+        if (search.getTo() != null) {
+            jpql.append(" AND r.startTime < :to");
+            parameters.put("to", search.getTo());
+        }
+
+        // カーソルより後ろの行に限定する（(開始時間, ID) > (カーソルの開始時間, カーソルのID)）
+        if (cursorStartTime != null) {
+            jpql.append(" AND (r.startTime > :cursorStartTime OR (r.startTime = :cursorStartTime AND r.id > :cursorId))");
+            parameters.put("cursorStartTime", cursorStartTime);
+            parameters.put("cursorId", cursorId);
+        }
+        jpql.append(" ORDER BY r.startTime ASC, r.id ASC");
+
+        TypedQuery<ReservationDTO> query = entityManager.createQuery(jpql.toString(), ReservationDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
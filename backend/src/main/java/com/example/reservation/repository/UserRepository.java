@@ -2,7 +2,10 @@ package com.example.reservation.repository;
 
 import com.example.reservation.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -10,16 +13,7 @@ import java.util.Optional;
  * Spring Data JPAのJpaRepositoryを拡張し、Userエンティティに対する基本的なCRUD操作を自動的に提供する
  * 主キーの型はLong型
  */
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * ユーザー名に基づいてユーザーを検索するメソッド
-     * ユーザーが存在しない場合は空のOptionalを返す
-     *
-     * @param username 検索対象のユーザー名
-     * @return 該当するユーザーを含むOptional、存在しない場合は空のOptional
-     */
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
      * メールアドレスに基づいてユーザーを検索するメソッド
@@ -47,4 +41,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 存在する場合はtrue、存在しない場合はfalse
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * ユーザーのトークンバージョンのみを取得するメソッド
+     * トークンバージョンのキャッシュが未読み込みの場合にのみ使用される
+     *
+     * @param id ユーザーID
+     * @return トークンバージョンを含むOptional、ユーザーが存在しない場合は空のOptional
+     */
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * 全ユーザーのユーザー名とメールアドレスのみを取得するメソッド
+     * ユーザー名・メールアドレスの使用状況（ブルームフィルター）の構築に使用される
+     *
+     * @return ユーザー名とメールアドレスのリスト
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    List<UsernameAndEmail> findAllUsernamesAndEmails();
+
+    /**
+     * ユーザー名とメールアドレスのみを取得するためのプロジェクション
+     */
+    interface UsernameAndEmail {
+        String getUsername();
+
+        String getEmail();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.entity.User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Spring Dataのクエリメソッドでは表現できない、ナチュラルIDによるユーザーの取得を定義するインターフェース
+ * 実装は {@link UserRepositoryImpl} で提供され、{@link UserRepository} から利用できる
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * ユーザー名に基づいてユーザーを検索するメソッド
+     * ユーザーが存在しない場合は空のOptionalを返す
+     * ユーザー名はナチュラルIDとして解決されるため、第2レベルキャッシュにあればデータベースに問い合わせない
+     *
+     * @param username 検索対象のユーザー名
+     * @return 該当するユーザーを含むOptional、存在しない場合は空のOptional
+     */
+    @Transactional(readOnly = true)
+    Optional<User> findByUsername(String username);
+}
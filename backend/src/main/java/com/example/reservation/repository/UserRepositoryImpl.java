@@ -0,0 +1,26 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * {@link UserRepositoryCustom} の実装クラス
+ * HibernateのナチュラルIDによる取得を使用し、ユーザー名からIDへの解決とエンティティの両方を
+ * 第2レベルキャッシュから取得できるようにする
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
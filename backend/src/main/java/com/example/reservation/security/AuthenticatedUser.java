@@ -0,0 +1,78 @@
+package com.example.reservation.security;
+
+import com.example.reservation.model.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 検証済みのJWTクレームから生成される認証済みユーザーのプリンシパル
+ * データベースを参照せずに、トークンに含まれるユーザーID・ユーザー名・役割だけで認証情報を構成する
+ * パスワードは保持しない
+ */
+public class AuthenticatedUser implements UserDetails {
+    private final Long userId;
+    private final String username;
+    private final User.Role role;
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * コンストラクタ
+     *
+     * @param userId   ユーザーID
+     * @param username ユーザー名
+     * @param role     ユーザーの役割
+     */
+    public AuthenticatedUser(Long userId, String username, User.Role role) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    /**
+     * 検証済みのクレームからプリンシパルを生成する
+     *
+     * @param claims 検証済みのクレーム（ユーザーIDと役割を含むこと）
+     * @return 認証済みユーザー
+     */
+    public static AuthenticatedUser from(VerifiedClaims claims) {
+        return new AuthenticatedUser(claims.userId(), claims.username(), claims.role());
+    }
+
+    /**
+     * ユーザーIDを取得
+     *
+     * @return ユーザーID
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * ユーザーの役割を取得
+     *
+     * @return ユーザーの役割
+     */
+    public User.Role getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
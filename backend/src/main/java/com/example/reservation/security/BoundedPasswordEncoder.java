@@ -0,0 +1,169 @@
+package com.example.reservation.security;
+
+import com.example.reservation.config.PasswordHashingProperties;
+import com.example.reservation.exception.ServerBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * パスワードのハッシュ化・照合を件数上限付きの専用スレッドプールで実行するエンコーダー
+ * <p>
+ * BCryptのようにCPU負荷の高い処理の同時実行数をスレッド数に制限し、ログインが集中しても
+ * 他のエンドポイントがCPUを使えるようにする。実行待ちがキューの上限を超えた場合や、
+ * 設定時間内に完了しない場合は {@link ServerBusyException}（503）で即座に拒否する。
+ * 呼び出し元のスレッドは完了まで待機するが、待機できるのはスレッド数とキュー上限の合計までとなる
+ * <p>
+ * 待ち時間を含む処理時間は操作・結果ごとにメトリクスとして公開される
+ * （auth.password.hashing、タグ operation=encode|matches、outcome=success|matched|mismatched|rejected|timeout）
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    /**
+     * 実際のハッシュ化・照合を行うエンコーダー
+     */
+    private final PasswordEncoder delegate;
+
+    /**
+     * ハッシュ化・照合を実行するスレッドプール
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * スレッドプールの設定
+     */
+    private final PasswordHashingProperties properties;
+
+    /**
+     * メトリクスの登録先
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * コンストラクタ - スレッドプールを生成し、メトリクスを登録する
+     *
+     * @param delegate      実際のハッシュ化・照合を行うエンコーダー
+     * @param properties    スレッドプールの設定（スレッド数・キュー上限・待ち時間）
+     * @param meterRegistry メトリクスの登録先
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        int threads = properties.getThreads() > 0
+                ? properties.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("パスワードのハッシュ化・照合の実行待ち件数")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("パスワードのハッシュ化・照合の実行中件数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * パスワードをハッシュ化する
+     *
+     * @param rawPassword 平文のパスワード
+     * @return ハッシュ化されたパスワード
+     * @throws ServerBusyException 混雑により処理を受け付けられない場合
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        String encoded = execute("encode", start, () -> delegate.encode(rawPassword));
+        record("encode", "success", start);
+        return encoded;
+    }
+
+    /**
+     * パスワードがハッシュと一致するかを照合する
+     *
+     * @param rawPassword     平文のパスワード
+     * @param encodedPassword ハッシュ化されたパスワード
+     * @return 一致する場合はtrue
+     * @throws ServerBusyException 混雑により処理を受け付けられない場合
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matched = execute("matches", start, () -> delegate.matches(rawPassword, encodedPassword));
+        record("matches", matched ? "matched" : "mismatched", start);
+        return matched;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 処理をスレッドプールで実行し、完了を待つ
+     * キューが満杯の場合と、設定時間内に完了しない場合は拒否する
+     */
+    private <T> T execute(String operation, long start, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            record(operation, "rejected", start);
+            throw busy();
+        }
+        try {
+            return future.get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            record(operation, "timeout", start);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServerBusyException busy() {
+        return new ServerBusyException("サーバーが混雑しています。しばらくしてから再度お試しください。", properties.getRetryAfter());
+    }
+
+    private void record(String operation, String outcome, long start) {
+        Timer.builder("auth.password.hashing")
+                .description("パスワードのハッシュ化・照合の処理時間（実行待ちを含む）")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+    }
+}
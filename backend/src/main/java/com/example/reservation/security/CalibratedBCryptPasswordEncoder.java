@@ -0,0 +1,91 @@
+package com.example.reservation.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 起動時に計測した処理時間からコスト（work factor）を決定するBCryptエンコーダー
+ * <p>
+ * 保存済みのハッシュのコストが現在のコストより低い場合に {@link #upgradeEncoding(String)} がtrueを返すため、
+ * ログイン成功時に現在のコストで再ハッシュされる。
+ * 計測結果はノードごとに異なりうるため、コストの高いハッシュは下げない
+ * （下げると性能の異なるノードが混在する環境でログインのたびにハッシュが書き換わり続けるため）
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final int SAMPLES = 3;
+
+    /**
+     * 現在のコスト
+     */
+    private final int strength;
+
+    /**
+     * コンストラクタ
+     *
+     * @param strength BCryptのコスト（4〜31）
+     */
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * 現在のコストを取得する
+     *
+     * @return BCryptのコスト
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * 保存済みのハッシュを現在のコストで再ハッシュすべきかどうか
+     *
+     * @param encodedPassword 保存済みのハッシュ
+     * @return BCryptのハッシュでコストが現在のコストより低い場合はtrue
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.matches() && Integer.parseInt(matcher.group(2)) < strength;
+    }
+
+    /**
+     * 1回のハッシュ化が目標の処理時間を超えない最大のコストを求める
+     * 最小コストでの処理時間を計測し、コストが1増えるごとに処理時間が2倍になるものとして見積もる
+     *
+     * @param targetLatency 1回のハッシュ化の目標処理時間
+     * @param minStrength   最小のコスト（目標を超える場合もこの値を使用する）
+     * @param maxStrength   最大のコスト
+     * @return 決定したコスト
+     */
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        // 初回はクラスのロードやJITの影響を受けるため計測しない
+        encoder.encode("calibration");
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long estimated = Math.max(1, samples[SAMPLES / 2]);
+
+        long target = targetLatency.toNanos();
+        int strength = minStrength;
+        while (strength < maxStrength && estimated * 2 <= target) {
+            estimated *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
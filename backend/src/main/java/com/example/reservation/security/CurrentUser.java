@@ -0,0 +1,21 @@
+package com.example.reservation.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * コントローラーの引数に認証済みユーザーを注入するためのアノテーション
+ * <p>
+ * 引数の型が {@link Long} の場合はユーザーID、{@link AuthenticatedUser} の場合はユーザーID・ユーザー名・役割を注入する。
+ * 値は認証済みのプリンシパルから取得され、データベースは参照しない
+ *
+ * @see CurrentUserArgumentResolver
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
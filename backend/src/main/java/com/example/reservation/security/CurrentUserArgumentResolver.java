@@ -0,0 +1,69 @@
+package com.example.reservation.security;
+
+import com.example.reservation.model.entity.User;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link CurrentUser} が付与された引数に認証済みユーザーを解決するリゾルバー
+ * <p>
+ * JWTのクレームから構成された {@link AuthenticatedUser}、またはフォームログイン等で
+ * 読み込まれた {@link CustomUserDetailsService.CustomUserDetails} のどちらのプリンシパルからも、
+ * データベースを参照せずにユーザーIDと役割を取り出す
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type == Long.class || type == AuthenticatedUser.class;
+    }
+
+    /**
+     * 現在の認証情報からユーザーIDまたは認証済みユーザーを解決する
+     *
+     * @throws AuthenticationCredentialsNotFoundException 認証されていない場合
+     * @throws IllegalStateException                      プリンシパルの種類に対応していない場合
+     */
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        AuthenticatedUser currentUser = currentUser(SecurityContextHolder.getContext().getAuthentication());
+        return parameter.getParameterType() == Long.class ? currentUser.getUserId() : currentUser;
+    }
+
+    /**
+     * 認証情報のプリンシパルを認証済みユーザーに変換する
+     *
+     * @param authentication 認証情報
+     * @return 認証済みユーザー
+     */
+    static AuthenticatedUser currentUser(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new AuthenticationCredentialsNotFoundException("認証されていません");
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser;
+        }
+        if (principal instanceof CustomUserDetailsService.CustomUserDetails customUserDetails) {
+            User user = customUserDetails.getUser();
+            return new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole());
+        }
+        throw new IllegalStateException("対応していないプリンシパルの種類です: " + principal.getClass().getName());
+    }
+}
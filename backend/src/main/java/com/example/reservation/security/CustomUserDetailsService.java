@@ -1,14 +1,18 @@
 package com.example.reservation.security;
 
+import com.example.reservation.event.UserChangedEvent;
 import com.example.reservation.model.entity.User;
 import com.example.reservation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -20,12 +24,22 @@ import java.util.List;
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     /**
-     * ユーザー情報へのアクセスを提供するリポジトリ
+     * ユーザー情報へのアクセスを提供するキャッシュ（未キャッシュの場合はリポジトリから読み込む）
+     */
+    private final UserCache userCache;
+
+    /**
+     * 再ハッシュしたパスワードの保存に使用するリポジトリ
      */
     private final UserRepository userRepository;
 
+    /**
+     * ユーザー変更イベントの発行者 - ユーザー情報のキャッシュを無効化する
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * ユーザー名に基づいてユーザー詳細を読み込むメソッド
      * Spring Securityの認証プロセスから呼び出される
@@ -38,13 +52,35 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // データベースからユーザー情報を検索
         // 見つからない場合は例外をスロー
-        User user = userRepository.findByUsername(username)
+        User user = userCache.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("ユーザーが見つかりません"));
 
         // 検索結果からカスタムユーザー詳細オブジェクトを生成して返す
         return new CustomUserDetails(user);
     }
 
+    /**
+     * 保存済みのパスワードハッシュを新しいハッシュに置き換えるメソッド
+     * ログイン成功時、保存済みのハッシュが接頭辞のない従来の形式の場合や、コストが現在の設定より低い場合にSpring Securityから呼び出される
+     * パスワード自体は変わらないため、トークンバージョンは変更しない
+     *
+     * @param userDetails 認証に成功したユーザーの詳細
+     * @param newPassword 現在の設定で再ハッシュしたパスワード
+     * @return 新しいハッシュを反映したユーザー詳細
+     * @throws UsernameNotFoundException ユーザーが見つからない場合に投げられる例外
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        // キャッシュのエンティティは共有されているため、データベースから読み込んだものを更新する
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("ユーザーが見つかりません"));
+        user.setPasswordHash(newPassword);
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.changed(updatedUser));
+        return new CustomUserDetails(updatedUser);
+    }
+
     /**
      * アプリケーション固有のユーザー情報をSpring Securityで使用できる形式に変換するクラス
      * UserDetailsインターフェースを実装し、認証と認可に必要な情報を提供する
@@ -1,10 +1,14 @@
 package com.example.reservation.security;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,14 +17,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWTトークンを使用した認証フィルター
  * リクエストごとにJWTトークンを検証し、認証情報をセキュリティコンテキストに設定する
+ * <p>
+ * 公開ルート・静的ファイル（{@link PublicEndpoints}）へのリクエストはトークンの処理もログ出力も行わない。
+ * 認証処理の時間はルート・結果ごとにメトリクスとして公開される
+ * （http.auth.filter、タグ route, outcome=authenticated|anonymous|rejected、
+ * 対象外としたリクエストは http.auth.filter.skipped、タグ route）
  */
 @Component
 @RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
+    /**
+     * メトリクスのタグとして区別するAPIの接頭辞（各コントローラーのベースパス）
+     */
+    private static final String[] ROUTE_PREFIXES = {
+            "/api/reservations", "/api/facilities", "/api/users", "/api/auth", "/api/files"};
+
+    /**
+     * 既知の接頭辞に一致しないリクエストのルートのタグ
+     */
+    private static final String OTHER_ROUTE = "other";
+
     /**
      * ユーザー情報を取得するためのサービス
      */
@@ -31,6 +52,48 @@ public class JwtRequestFilter extends OncePerRequestFilter {
      */
     private final JwtTokenUtil jwtTokenUtil;
 
+    /**
+     * 検証済みトークンのキャッシュ - 同じトークンの署名検証と解析を省略する
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * ユーザーごとのトークンバージョン - 失効したトークンをクエリなしで判定する
+     */
+    private final TokenVersionService tokenVersionService;
+
+    /**
+     * メトリクスの登録先 - ルートごとの認証処理の時間と対象外としたリクエスト数を記録する
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 検証済みのクレームから直接プリンシパルを構成するかどうか（app.jwt.claims-principal）
+     * falseの場合は従来どおりリクエストごとにデータベースからユーザー情報を読み込む
+     */
+    @Value("${app.jwt.claims-principal:true}")
+    private boolean claimsPrincipal;
+
+    /**
+     * 公開ルート・静的ファイルへのリクエストはフィルターの対象外とする
+     *
+     * @param request HTTPリクエスト
+     * @return 対象外の場合はtrue
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String pattern = PublicEndpoints.match(pathOf(request));
+        if (pattern == null) {
+            return false;
+        }
+        Counter.builder("http.auth.filter.skipped")
+                .description("認証処理の対象外としたリクエスト数")
+                .tag("route", pattern)
+                .register(meterRegistry)
+                .increment();
+        return true;
+    }
+
     /**
      * リクエストごとに一度だけ実行されるフィルターメソッド
      * Authorization ヘッダーからJWTトークンを抽出し、検証を行う
@@ -43,34 +106,35 @@ public class JwtRequestFilter extends OncePerRequestFilter {
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        String outcome = "anonymous";
+
         // リクエストヘッダーから「Authorization」の値を取得
         final String requestTokenHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwtToken = null;
+        VerifiedClaims claims = null;
 
         // Authorization ヘッダーが存在し、「Bearer 」で始まる場合の処理
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             // 「Bearer 」の部分を除去してトークン部分を取得（7文字分をスキップ）
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                // トークンからユーザー名を抽出
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+                // トークンを1回だけ解析・検証し（検証済みのトークンはキャッシュから取得）、以降の確認はすべて検証済みのクレームで行う
+                claims = verifiedTokenCache.verify(jwtToken);
             } catch (Exception e) {
                 // トークンの解析に失敗した場合はエラーログを出力
                 logger.error("トークンの解析に失敗しました: " + e.getMessage());
+                outcome = "rejected";
             }
         } else {
             // Authorization ヘッダーが不正な形式の場合は警告ログを出力
             logger.warn("JWT トークンが Bearer で始まっていないか、トークンがありません");
         }
 
-        // ユーザー名が取得でき、かつ現在のセキュリティコンテキストに認証情報がない場合
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // ユーザー名を使ってユーザー詳細を取得
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            // トークンが有効かどうか検証
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+        // トークンが検証でき、かつ現在のセキュリティコンテキストに認証情報がない場合
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(claims);
+            outcome = userDetails != null ? "authenticated" : "rejected";
+            if (userDetails != null) {
                 // 認証トークンを作成（パスワードはnull、権限はユーザー詳細から取得）
                 UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -85,7 +149,60 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             }
         }
 
+        // 認証処理にかかった時間を記録（後続の処理時間は含めない）
+        Timer.builder("http.auth.filter")
+                .description("JWT認証フィルターの処理時間")
+                .tag("route", routeOf(pathOf(request)))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
         // フィルターチェーンの次のフィルターに処理を渡す
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * リクエストのパス（コンテキストパスを除く）
+     */
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * メトリクスのタグに使用するルート（既知のAPIの接頭辞、例: /api/reservations/**）
+     * 任意のパスでタグの種類が増えないよう、既知の接頭辞に一致しないパスはすべて「other」にまとめる
+     */
+    private static String routeOf(String path) {
+        for (String prefix : ROUTE_PREFIXES) {
+            if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+                return prefix + "/**";
+            }
+        }
+        return OTHER_ROUTE;
+    }
+
+    /**
+     * 検証済みのクレームから認証に使用するプリンシパルを決定する
+     * ユーザーIDと役割を含むトークンはクレームだけでプリンシパルを構成し、
+     * それ以前に発行されたトークンや設定で無効化されている場合はデータベースから読み込む
+     * いずれの場合もトークンバージョンが現在のものでなければ認証しない
+     *
+     * @param claims 検証済みのクレーム
+     * @return プリンシパル（トークンが失効している場合はnull）
+     */
+    private UserDetails resolvePrincipal(VerifiedClaims claims) {
+        // パスワード変更や削除により失効したトークンを拒否（メモリ上のバージョンで判定）
+        if (claims.userId() != null && !tokenVersionService.isCurrent(claims.userId(), claims.tokenVersion())) {
+            logger.warn("失効したトークンが使用されました: " + claims.username());
+            return null;
+        }
+
+        if (claimsPrincipal && claims.hasPrincipalClaims()) {
+            return AuthenticatedUser.from(claims);
+        }
+
+        // ユーザー名を使ってユーザー詳細を取得し、トークンのユーザー名と有効期限を確認
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.username());
+        return jwtTokenUtil.validateToken(claims, userDetails) ? userDetails : null;
+    }
+}
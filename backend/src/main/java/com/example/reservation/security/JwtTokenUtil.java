@@ -1,6 +1,9 @@
 package com.example.reservation.security;
 
+import com.example.reservation.model.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,152 +13,98 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * JWTトークンの生成と検証を行うユーティリティクラス
  * JWT（JSON Web Token）は、ユーザー認証や情報交換に使用される標準的なトークン形式です
+ * <p>
+ * 署名キーとJWTパーサーは起動時に1度だけ生成し、すべてのリクエストで共有します
+ * （どちらもスレッドセーフな不変オブジェクトです）
  */
 @Component
 public class JwtTokenUtil {
-
-    // application.propertiesからJWTの秘密鍵を読み込みます
-    // この秘密鍵はトークンの署名と検証に使用されます
-    @Value("${app.jwt.secret}")
-    private String secret;
-
-    // application.propertiesからJWTの有効期限を読み込みます
-    // トークンが有効な期間をミリ秒単位で指定します
-    @Value("${app.jwt.expiration}")
-    private Long expiration;
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String ROLE_CLAIM = "role";
+    private static final String VERSION_CLAIM = "ver";
 
     /**
-     * トークンからユーザー名を取得するメソッド
-     *
-     * @param token JWTトークン
-     * @return トークンに含まれるユーザー名
-     * <p>
-     * 処理の流れ：
-     * 1. トークンからClaims（クレーム）を取得します
-     * 2. Claimsからsubject（ユーザー名）を取得して返します
+     * トークンの有効期限（ミリ秒）
      */
-    public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
+    private final long expiration;
 
     /**
-     * トークンから指定されたクレームを取得するメソッド
-     *
-     * @param token          JWTトークン
-     * @param claimsResolver 取得したいクレームを指定する関数
-     * @return 指定されたクレームの値
-     * <p>
-     * 処理の流れ：
-     * 1. トークンからすべてのクレームを取得します
-     * 2. 指定された関数を使用して、必要なクレームの値を抽出します
+     * 秘密鍵から生成したHMAC-SHA署名キー
      */
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
-    }
+    private final Key signingKey;
 
     /**
-     * トークンからユーザーIDを取得するメソッド
-     *
-     * @param token JWTトークン
-     * @return トークンに含まれるユーザーID
-     * <p>
-     * 処理の流れ：
-     * 1. トークンからすべてのクレームを取得します
-     * 2. "userId"という名前のクレームから値を取得します
-     * 3. 文字列として取得した値をLong型に変換して返します
+     * 署名キーを設定済みのJWTパーサー
      */
-    public Long getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return Long.parseLong(claims.get("userId", String.class));
-    }
+    private final JwtParser parser;
 
     /**
-     * トークンからすべてのクレームを取得するメソッド
+     * コンストラクタ - 秘密鍵から署名キーとパーサーを生成する
      *
-     * @param token JWTトークン
-     * @return トークンに含まれるすべてのクレーム
-     * <p>
-     * 処理の流れ：
-     * 1. JWTパーサーを構築します
-     * 2. 秘密鍵を設定します
-     * 3. トークンを解析してクレームを取得します
+     * @param secret     JWTの秘密鍵（app.jwt.secret）
+     * @param expiration JWTの有効期限（ミリ秒、app.jwt.expiration）
      */
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public JwtTokenUtil(@Value("${app.jwt.secret}") String secret,
+                        @Value("${app.jwt.expiration}") long expiration) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     /**
-     * 署名キーを生成するメソッド
-     *
-     * @return 署名に使用するキー
-     * <p>
-     * 処理の流れ：
-     * 1. 秘密鍵の文字列をバイト配列に変換します
-     * 2. HMAC-SHAアルゴリズム用のキーを生成します
-     */
-    private Key getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    /**
-     * トークンの有効期限を確認するメソッド
-     *
-     * @param token JWTトークン
-     * @return トークンが期限切れの場合はtrue、有効な場合はfalse
-     * <p>
-     * 処理の流れ：
-     * 1. トークンから有効期限を取得します
-     * 2. 現在時刻と比較して、期限切れかどうかを判定します
-     */
-    public Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    /**
-     * トークンから有効期限を取得するメソッド
+     * トークンを解析し、署名と有効期限を検証するメソッド
      *
      * @param token JWTトークン
-     * @return トークンの有効期限
+     * @return 検証済みのクレーム
+     * @throws JwtException             署名が不正、形式が不正、または期限切れの場合
+     * @throws IllegalArgumentException トークンが空の場合
      * <p>
      * 処理の流れ：
-     * 1. トークンからClaimsを取得します
-     * 2. Claimsから有効期限（expiration）を取得して返します
+     * 1. 共有のパーサーでトークンを1回だけ解析します（署名と有効期限はここで検証されます）
+     * 2. 以降の確認に必要なクレームを不変オブジェクトに詰めて返します
      */
-    public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+    public VerifiedClaims verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        return new VerifiedClaims(
+                claims.getSubject(),
+                userId != null ? Long.valueOf(userId) : null,
+                role != null ? User.Role.valueOf(role) : null,
+                version != null ? version.longValue() : 0L,
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()));
     }
 
     /**
      * ユーザー情報からトークンを生成するメソッド
      *
-     * @param userDetails ユーザー情報
-     * @param userId      ユーザーID
+     * @param user ユーザーエンティティ
      * @return 生成されたJWTトークン
      * <p>
      * 処理の流れ：
      * 1. クレームのマップを作成します
-     * 2. ユーザーIDをクレームに追加します
+     * 2. ユーザーID・役割・トークンバージョンをクレームに追加します
+     *    （リクエストごとにデータベースを参照せずにプリンシパルを構成するため）
      * 3. トークンを生成して返します
      */
-    public String generateToken(UserDetails userDetails, Long userId) {
+    public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", userId.toString());
-        return doGenerateToken(claims, userDetails.getUsername());
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(VERSION_CLAIM, user.getTokenVersion());
+        return doGenerateToken(claims, user.getUsername());
     }
 
     /**
@@ -175,30 +124,34 @@ public class JwtTokenUtil {
      * 7. トークンを生成して返します
      */
     private String doGenerateToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     /**
-     * トークンの有効性を検証するメソッド
+     * 検証済みのクレームがユーザー情報に対して有効かどうかを確認するメソッド
+     * トークンの再解析は行いません
      *
-     * @param token       JWTトークン
+     * @param claims      検証済みのクレーム
      * @param userDetails ユーザー情報
      * @return トークンが有効な場合はtrue、無効な場合はfalse
      * <p>
      * 処理の流れ：
-     * 1. トークンからユーザー名を取得します
-     * 2. 取得したユーザー名と引数のユーザー名が一致するか確認します
-     * 3. トークンが期限切れでないことを確認します
-     * 4. 両方の条件が満たされていればtrueを返します
+     * 1. クレームのユーザー名と引数のユーザー名が一致するか確認します
+     * 2. トークンが期限切れでないことを確認します
+     * 3. 両方の条件が満たされていればtrueを返します
      */
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    public boolean validateToken(VerifiedClaims claims, UserDetails userDetails) {
+        return claims.username().equals(userDetails.getUsername()) && !claims.isExpiredAt(Instant.now());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 }
@@ -0,0 +1,45 @@
+package com.example.reservation.security;
+
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * 認証不要のエンドポイント（公開ルート・静的ファイル）のパスパターン
+ * SecurityConfigのアクセス制御とJwtRequestFilterの対象外判定の両方で使用し、
+ * 同じパターンの一覧を二重に管理しないようにする
+ */
+public final class PublicEndpoints {
+    /**
+     * ユーザー登録・ログインなど、認証なしで呼び出せるAPIのパスパターン
+     */
+    public static final String[] API = {"/api/users/register", "/api/auth/**"};
+
+    /**
+     * アバター画像などの静的ファイルのパスパターン
+     */
+    public static final String[] STATIC = {"/uploads/**", "/api/files/**"};
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private PublicEndpoints() {
+    }
+
+    /**
+     * パスに一致する公開ルートのパターンを返す
+     *
+     * @param path リクエストのパス（コンテキストパスを除く）
+     * @return 一致したパターン、公開ルートでない場合はnull
+     */
+    public static String match(String path) {
+        for (String pattern : API) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return pattern;
+            }
+        }
+        for (String pattern : STATIC) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+}
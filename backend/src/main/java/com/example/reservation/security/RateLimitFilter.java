@@ -0,0 +1,272 @@
+package com.example.reservation.security;
+
+import com.example.reservation.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ルートごとのレート制限を行うフィルター
+ * JWT認証フィルターより前に実行され、制限を超えたリクエストは認証処理を行わずに429で拒否する
+ * <p>
+ * 制限はapp.rate-limit.routesに定義したルートごとに、接続元IP・リクエストボディのユーザー名・
+ * 認証済みユーザーIDの単位でトークンバケットを消費する。
+ * 拒否件数はルート・単位ごとにメトリクスとして公開される（http.rate_limit.rejected、タグ route, key）
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * キーごとのトークンバケット
+     */
+    private final TokenBucketStore tokenBucketStore;
+
+    /**
+     * レート制限の設定
+     */
+    private final RateLimitProperties rateLimitProperties;
+
+    /**
+     * 検証済みトークンのキャッシュ - ユーザー単位の制限でユーザーIDを取得する
+     */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * リクエストボディからユーザー名を読み取るためのマッパー
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * メトリクスの登録先
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * コンストラクタ - 依存性の注入
+     *
+     * @param tokenBucketStore    キーごとのトークンバケット
+     * @param rateLimitProperties レート制限の設定
+     * @param verifiedTokenCache  検証済みトークンのキャッシュ
+     * @param objectMapper        リクエストボディの解析に使用するマッパー
+     * @param meterRegistry       メトリクスの登録先
+     */
+    public RateLimitFilter(TokenBucketStore tokenBucketStore, RateLimitProperties rateLimitProperties,
+                           VerifiedTokenCache verifiedTokenCache, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.tokenBucketStore = tokenBucketStore;
+        this.rateLimitProperties = rateLimitProperties;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 対象のルートであればバケットを消費し、いずれかのバケットが空であれば429を返す
+     *
+     * @param request     HTTPリクエスト
+     * @param response    HTTPレスポンス
+     * @param filterChain フィルターチェーン
+     * @throws ServletException サーブレット例外
+     * @throws IOException      入出力例外
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Route route = rateLimitProperties.isEnabled() ? findRoute(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest current = request;
+        long now = System.nanoTime();
+        long period = route.getPeriod().toNanos();
+        for (RateLimitProperties.KeyType keyType : route.getKeys()) {
+            String value = switch (keyType) {
+                case IP -> request.getRemoteAddr();
+                case USER -> userIdOf(request);
+                case USERNAME -> {
+                    // ユーザー名を読み取るためにボディを読み込み、後続の処理で再度読めるようにする
+                    if (!(current instanceof CachedBodyRequest)) {
+                        current = CachedBodyRequest.of(request, rateLimitProperties.getMaxBodyBytes());
+                    }
+                    yield current instanceof CachedBodyRequest cached ? usernameOf(cached) : null;
+                }
+            };
+            if (value == null) {
+                continue;
+            }
+            long waitNanos = tokenBucketStore.tryAcquire(route.getName() + ":" + keyType + ":" + value, route.getCapacity(), period, now);
+            if (waitNanos > 0) {
+                reject(response, route, keyType, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(current, response);
+    }
+
+    /**
+     * リクエストに一致する最初のルートを返す
+     */
+    private RateLimitProperties.Route findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitProperties.Route route : rateLimitProperties.getRoutes()) {
+            if (!route.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : route.getPaths()) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * AuthorizationヘッダーのトークンからユーザーIDを取得する
+     * トークンがない・不正な場合は制限せず、後続の認証処理に判断を委ねる
+     */
+    private String userIdOf(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            VerifiedClaims claims = verifiedTokenCache.verify(header.substring(7));
+            return claims.userId() != null ? claims.userId().toString() : claims.username();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * JSONのリクエストボディからユーザー名を取得する
+     */
+    private String usernameOf(CachedBodyRequest request) {
+        try {
+            JsonNode username = objectMapper.readTree(request.body).get("username");
+            return username != null && username.isTextual() ? username.asText().trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 429 Too Many Requestsと再試行までの秒数を返し、拒否件数を記録する
+     */
+    private void reject(HttpServletResponse response, RateLimitProperties.Route route,
+                        RateLimitProperties.KeyType keyType, long waitNanos) throws IOException {
+        Counter.builder("http.rate_limit.rejected")
+                .description("レート制限により拒否されたリクエスト数")
+                .tag("route", route.getName())
+                .tag("key", keyType.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(),
+                Map.of("error", "リクエストが多すぎます。しばらくしてから再度お試しください。"));
+    }
+
+    /**
+     * 読み込んだリクエストボディを保持し、後続の処理で再度読めるようにするラッパー
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /**
+         * ボディを読み込んでラップする
+         * 長さが不明（チャンク転送）または上限を超えるボディは読み込まない
+         *
+         * @return ラップしたリクエスト（ボディを読み込まなかった場合は元のリクエスト）
+         */
+        static HttpServletRequest of(HttpServletRequest request, int maxBytes) throws IOException {
+            long length = request.getContentLengthLong();
+            if (length < 0 || length > maxBytes) {
+                return request;
+            }
+            return new CachedBodyRequest(request, request.getInputStream().readNBytes((int) length));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
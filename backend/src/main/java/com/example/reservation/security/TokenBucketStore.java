@@ -0,0 +1,101 @@
+package com.example.reservation.security;
+
+import com.example.reservation.config.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * キーごとのトークンバケットをメモリ上に保持するストア
+ * <p>
+ * 各バケットはGCRA（Generic Cell Rate Algorithm）により、次にトークンが満ちる理論上の時刻を
+ * 1つの {@link AtomicLong} で表す。取得はCASのみで行い、ロックは使用しない。
+ * 容量 capacity、満杯に戻るまでの時間 period のバケットは、period / capacity ごとに1トークン補充される
+ * トークンバケットと同じ振る舞いとなる
+ * <p>
+ * 満杯に戻ってから app.rate-limit.idle-timeout の間使われなかったバケットは、
+ * 取得処理のついでに一定間隔で取り除かれる
+ */
+@Component
+public class TokenBucketStore {
+    /**
+     * キーごとのバケット（理論上の到着時刻、System.nanoTime() 基準）
+     */
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 次に破棄処理を行う時刻
+     */
+    private final AtomicLong nextSweep;
+
+    /**
+     * 使われなくなったバケットを破棄するまでの時間（ナノ秒）
+     */
+    private final long idleNanos;
+
+    /**
+     * コンストラクタ - バケット数のメトリクスを登録する
+     *
+     * @param rateLimitProperties レート制限の設定（破棄までの時間）
+     * @param meterRegistry       メトリクスの登録先
+     */
+    public TokenBucketStore(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry) {
+        this.idleNanos = rateLimitProperties.getIdleTimeout().toNanos();
+        this.nextSweep = new AtomicLong(System.nanoTime() + idleNanos);
+        Gauge.builder("http.rate_limit.buckets", buckets, ConcurrentMap::size)
+                .description("レート制限のバケット数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 指定されたキーのバケットからトークンを1つ取得する
+     *
+     * @param key      バケットのキー
+     * @param capacity バケットの容量
+     * @param period   空のバケットが満杯に戻るまでの時間（ナノ秒）
+     * @param now      現在時刻（System.nanoTime()）
+     * @return 取得できた場合は0、できなかった場合は次に取得できるまでの時間（ナノ秒）
+     */
+    public long tryAcquire(String key, int capacity, long period, long now) {
+        sweepIfDue(now);
+        long interval = Math.max(1, period / capacity);
+        long burst = interval * capacity;
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 保持しているバケット数を返す
+     *
+     * @return バケット数
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * 破棄の時刻を過ぎていれば、満杯に戻ってから一定時間使われていないバケットを取り除く
+     * 複数スレッドが同時に到達した場合は1スレッドだけが実行する
+     */
+    void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + idleNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> now - bucket.get() > idleNanos);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.reservation.security;
+
+import com.example.reservation.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * ユーザーごとのトークンバージョンをメモリ上で管理するサービス
+ * JWTトークンに埋め込まれたバージョンが現在のバージョンと一致するかを、リクエストごとのクエリなしで判定する
+ * <p>
+ * 各ユーザーのバージョンは初回参照時に1度だけデータベースから読み込まれ、
+ * パスワード変更やユーザー削除の際にこのサービスを通じて更新される。
+ * 保持する件数と参照されない期間には上限があり、破棄されたユーザーは次回参照時にデータベースから読み込み直す
+ * ヒット・ミス・破棄の統計はメトリクスとして公開される（cache.*、タグ cache=token-versions）
+ * キャッシュはJVM内でのみ有効であり、複数インスタンス構成では他インスタンスへの反映は行われない
+ */
+@Service
+public class TokenVersionService {
+    /**
+     * 削除されたユーザーを表すバージョン（どのトークンとも一致しない）
+     */
+    private static final long DELETED = -1L;
+
+    /**
+     * ユーザーIDごとの現在のトークンバージョン（件数上限と、参照されない期間による破棄あり）
+     */
+    private final LoadingCache<Long, Long> versions;
+
+    /**
+     * コンストラクタ - キャッシュを生成し、メトリクスを登録する
+     *
+     * @param userRepository バージョンの初回読み込み（破棄後の読み込み直しを含む）に使用するユーザーリポジトリ
+     * @param maximumSize    保持するユーザー数の上限（app.jwt.token-versions.maximum-size）
+     * @param idleTimeout    参照されないユーザーを破棄するまでの時間（app.jwt.token-versions.idle-timeout）
+     * @param meterRegistry  メトリクスの登録先
+     */
+    public TokenVersionService(UserRepository userRepository,
+                               @Value("${app.jwt.token-versions.maximum-size:100000}") long maximumSize,
+                               @Value("${app.jwt.token-versions.idle-timeout:1h}") Duration idleTimeout,
+                               MeterRegistry meterRegistry) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build(id -> userRepository.findTokenVersionById(id).orElse(DELETED));
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "token-versions");
+    }
+
+    /**
+     * トークンのバージョンがユーザーの現在のバージョンと一致するかを判定する
+     *
+     * @param userId       ユーザーID
+     * @param tokenVersion トークンに埋め込まれたバージョン
+     * @return 一致する場合はtrue（ユーザーが削除済みの場合はfalse）
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long current = versions.get(userId);
+        return current != DELETED && current == tokenVersion;
+    }
+
+    /**
+     * ユーザーのトークンバージョンが更新されたことを記録する
+     * トランザクション中の場合はコミット後に反映し、ロールバック時に新しいバージョンが残らないようにする
+     *
+     * @param userId     ユーザーID
+     * @param newVersion 更新後のバージョン
+     */
+    public void versionChanged(Long userId, long newVersion) {
+        afterCommit(() -> versions.put(userId, newVersion));
+    }
+
+    /**
+     * ユーザーが削除されたことを記録し、そのユーザーのすべてのトークンを無効にする
+     *
+     * @param userId ユーザーID
+     */
+    public void userDeleted(Long userId) {
+        afterCommit(() -> versions.put(userId, DELETED));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.reservation.security;
+
+import com.example.reservation.config.UserCacheProperties;
+import com.example.reservation.event.UserChangedEvent;
+import com.example.reservation.model.entity.User;
+import com.example.reservation.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * ユーザー名をキーとしてユーザーエンティティを保持する、件数と有効期間の上限付きキャッシュ
+ * 同じユーザーへの同時アクセスでも読み込みはキーごとに1回だけ行われる
+ * <p>
+ * ユーザー情報の更新・削除時には {@link UserChangedEvent} によりコミット後に無効化される
+ * ヒット・ミス・破棄の統計はメトリクスとして公開される（cache.*、タグ cache=users）
+ * キャッシュされたエンティティは共有されるため、参照のみに使用し変更してはならない
+ */
+@Component
+public class UserCache {
+    /**
+     * ユーザー名ごとのユーザーエンティティ
+     */
+    private final LoadingCache<String, User> cache;
+
+    /**
+     * キャッシュを使用するかどうか
+     */
+    private final boolean enabled;
+
+    /**
+     * キャッシュを使用しない場合に直接参照するユーザーリポジトリ
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * コンストラクタ - キャッシュを生成し、メトリクスを登録する
+     *
+     * @param userRepository      ユーザー情報の読み込みに使用するリポジトリ
+     * @param userCacheProperties キャッシュの設定（件数・有効期間）
+     * @param meterRegistry       メトリクスの登録先
+     */
+    public UserCache(UserRepository userRepository, UserCacheProperties userCacheProperties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.enabled = userCacheProperties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(userCacheProperties.getTtl())
+                .recordStats()
+                // 存在しないユーザーはnullとなりキャッシュされない
+                .build(username -> userRepository.findByUsername(username).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    /**
+     * ユーザー名に対応するユーザーを取得する（キャッシュにない場合はデータベースから読み込む）
+     *
+     * @param username ユーザー名
+     * @return ユーザーを含むOptional、存在しない場合は空のOptional
+     */
+    public Optional<User> findByUsername(String username) {
+        if (!enabled) {
+            return userRepository.findByUsername(username);
+        }
+        return Optional.ofNullable(cache.get(username));
+    }
+
+    /**
+     * ユーザー情報の変更イベントを受けて、該当ユーザーのキャッシュを無効化する
+     * トランザクション内で発行された場合はコミット後に、トランザクション外の場合は即座に処理される
+     *
+     * @param event ユーザー変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.username() != null) {
+            cache.invalidate(event.username());
+        }
+        // ユーザー名が不明な場合やユーザー名が変わった場合に備え、IDでも無効化する
+        if (event.userId() != null) {
+            cache.asMap().values().removeIf(user -> event.userId().equals(user.getId()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.reservation.security;
+
+import com.example.reservation.model.entity.User;
+
+import java.time.Instant;
+
+/**
+ * 署名と有効期限の検証が済んだJWTトークンのクレームを表す不変オブジェクト
+ * トークンの解析はリクエストごとに1回だけ行い、以降の確認はすべてこのオブジェクトを参照する
+ *
+ * @param username  ユーザー名（subject）
+ * @param userId       ユーザーID（userIdクレーム、含まれない場合はnull）
+ * @param role         ユーザーの役割（roleクレーム、以前に発行されたトークンではnull）
+ * @param tokenVersion トークンバージョン（verクレーム、以前に発行されたトークンでは0）
+ * @param issuedAt     発行日時
+ * @param expiresAt    有効期限
+ */
+public record VerifiedClaims(String username, Long userId, User.Role role, long tokenVersion,
+                             Instant issuedAt, Instant expiresAt) {
+
+    /**
+     * データベースを参照せずにプリンシパルを構成できるだけのクレームを含むかどうか
+     *
+     * @return ユーザーIDと役割の両方を含む場合はtrue
+     */
+    public boolean hasPrincipalClaims() {
+        return userId != null && role != null;
+    }
+
+    /**
+     * 指定された時刻の時点でトークンが期限切れかどうか
+     *
+     * @param now 判定する時刻
+     * @return 期限切れの場合はtrue
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+}
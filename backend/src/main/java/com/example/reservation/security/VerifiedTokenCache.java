@@ -0,0 +1,122 @@
+package com.example.reservation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * 検証済みのJWTクレームを、トークンのハッシュをキーとして有効期限まで保持する件数上限付きキャッシュ
+ * <p>
+ * 同じトークンが繰り返し送信される場合に、署名検証（HMAC-SHA512）とJSONの解析を省略する。
+ * キーはトークン文字列のSHA-256ハッシュで、トークンそのものや署名キーは保持しない。
+ * 検証に失敗したトークンはキャッシュされず、各エントリーはトークンの有効期限（exp）に破棄される。
+ * 失効の判定（トークンバージョンの確認）はキャッシュの有無にかかわらず呼び出し側で毎回行うこと
+ * ヒット・ミス・破棄の統計はメトリクスとして公開される（cache.*、タグ cache=jwt-tokens）
+ */
+@Component
+public class VerifiedTokenCache {
+    /**
+     * トークンのハッシュごとの検証済みクレーム
+     */
+    private final Cache<String, VerifiedClaims> cache;
+
+    /**
+     * キャッシュを使用するかどうか（app.jwt.verified-cache.enabled）
+     */
+    private final boolean enabled;
+
+    /**
+     * JWTトークンの検証を行うユーティリティ
+     */
+    private final JwtTokenUtil jwtTokenUtil;
+
+    /**
+     * コンストラクタ - キャッシュを生成し、メトリクスを登録する
+     *
+     * @param jwtTokenUtil  キャッシュにない場合にトークンを検証するユーティリティ
+     * @param enabled       キャッシュを使用するかどうか（app.jwt.verified-cache.enabled）
+     * @param maximumSize   キャッシュに保持するトークンの最大件数（app.jwt.verified-cache.maximum-size）
+     * @param meterRegistry メトリクスの登録先
+     */
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil,
+                              @Value("${app.jwt.verified-cache.enabled:true}") boolean enabled,
+                              @Value("${app.jwt.verified-cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt-tokens");
+    }
+
+    /**
+     * トークンを検証する（同じトークンを有効期限内に検証済みの場合はキャッシュしたクレームを返す）
+     *
+     * @param token JWTトークン
+     * @return 検証済みのクレーム
+     * @throws JwtException             署名が不正、形式が不正、または期限切れの場合
+     * @throws IllegalArgumentException トークンが空の場合
+     */
+    public VerifiedClaims verify(String token) {
+        if (!enabled) {
+            return jwtTokenUtil.verify(token);
+        }
+        VerifiedClaims claims = cache.get(hash(token), key -> jwtTokenUtil.verify(token));
+        // 破棄処理が遅れた場合でも期限切れのクレームは返さない
+        if (claims.isExpiredAt(Instant.now())) {
+            return jwtTokenUtil.verify(token);
+        }
+        return claims;
+    }
+
+    /**
+     * トークン文字列のSHA-256ハッシュ（Base64）を求める
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256を使用できません", e);
+        }
+    }
+
+    /**
+     * エントリーの有効期間をトークンの有効期限までとするポリシー
+     * 有効期限を持たないトークンはキャッシュしない
+     */
+    private static final class UntilTokenExpires implements Expiry<String, VerifiedClaims> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+            if (claims.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.reservation.service;
+
+import com.example.reservation.model.dto.AvailabilityDTO;
+
+import java.time.LocalDate;
+
+/**
+ * 施設の空き状況に関する業務ロジックを定義するサービスインターフェース
+ */
+public interface AvailabilityService {
+    /**
+     * 指定された施設・期間の空き状況を取得する
+     *
+     * @param facilityId         施設ID
+     * @param from               期間の開始日（nullの場合は今日）
+     * @param to                 期間の終了日（この日を含む、nullの場合は開始日から1週間）
+     * @param granularityMinutes 時間枠の粒度（分、nullの場合は設定された最小粒度）
+     * @return 空き状況DTO
+     */
+    AvailabilityDTO getAvailability(Long facilityId, LocalDate from, LocalDate to, Integer granularityMinutes);
+}
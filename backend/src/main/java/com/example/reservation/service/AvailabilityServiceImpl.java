@@ -0,0 +1,342 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.ReservationProperties;
+import com.example.reservation.event.ReservationChangedEvent;
+import com.example.reservation.exception.ResourceNotFoundException;
+import com.example.reservation.model.dto.AvailabilityDTO;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 施設の空き状況を提供するサービスの実装クラス
+ * <p>
+ * 施設・日ごとに、設定された最小粒度（app.reservation.availability.slot-minutes）の時間枠を
+ * 1ビットで表す long[] のビットセットを保持する。ビットセットは初回参照時に1回のクエリで構築されて
+ * キャッシュされ、以降は {@link ReservationChangedEvent} により差分更新される。
+ * 承認が取り消された場合は該当日のビットセットを破棄し、次回参照時に再構築する
+ * <p>
+ * 時間枠と予約の重なりは、予約の重複判定（findOverlappingReservations・排他制約の '[]'）と同じく境界値を含む。
+ * そのため予約の終了時刻ちょうどに始まる時間枠も予約不可と表示される
+ * <p>
+ * キャッシュする施設数は上限と有効期間で制限し、取得できる日付は今日の前後の一定期間に限る
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /**
+     * 予約リポジトリ - ビットセット構築時の承認済み予約の取得に使用
+     */
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * 施設リポジトリ - 施設の存在確認に使用
+     */
+    private final FacilityRepository facilityRepository;
+
+    /**
+     * 予約機能の設定 - 時間枠の粒度や取得可能な期間
+     */
+    private final ReservationProperties reservationProperties;
+
+    /**
+     * 施設IDごとの日別ビットセット（施設数の上限と、参照されない期間による破棄あり）
+     */
+    private final Cache<Long, FacilityDays> facilities;
+
+    /**
+     * コンストラクタ - 施設ごとのビットセットのキャッシュを生成する
+     *
+     * @param reservationRepository 予約リポジトリ
+     * @param facilityRepository    施設リポジトリ
+     * @param reservationProperties 予約機能の設定
+     */
+    public AvailabilityServiceImpl(ReservationRepository reservationRepository, FacilityRepository facilityRepository,
+                                   ReservationProperties reservationProperties) {
+        this.reservationRepository = reservationRepository;
+        this.facilityRepository = facilityRepository;
+        this.reservationProperties = reservationProperties;
+        ReservationProperties.Availability settings = reservationProperties.getAvailability();
+        this.facilities = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxCachedFacilities())
+                .expireAfterAccess(settings.getCacheIdleTimeout())
+                .build();
+    }
+
+    /**
+     * 指定された施設・期間の空き状況を取得する
+     *
+     * @param facilityId         施設ID
+     * @param from               期間の開始日（nullの場合は今日）
+     * @param to                 期間の終了日（この日を含む、nullの場合は開始日から1週間）
+     * @param granularityMinutes 時間枠の粒度（分、nullの場合は設定された最小粒度）
+     * @return 空き状況DTO
+     * @throws ResourceNotFoundException 施設が見つからない場合
+     * @throws IllegalArgumentException  期間または粒度が不正な場合
+     */
+    @Override
+    public AvailabilityDTO getAvailability(Long facilityId, LocalDate from, LocalDate to, Integer granularityMinutes) {
+        ReservationProperties.Availability settings = reservationProperties.getAvailability();
+        int slotMinutes = settings.getSlotMinutes();
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        int granularity = granularityMinutes != null ? granularityMinutes : slotMinutes;
+
+        // 期間と粒度の検証
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("終了日は開始日以降である必要があります");
+        }
+        if (ChronoUnit.DAYS.between(start, end) + 1 > settings.getMaxRangeDays()) {
+            throw new IllegalArgumentException("取得できる期間は最大" + settings.getMaxRangeDays() + "日です");
+        }
+        LocalDate today = LocalDate.now();
+        if (start.isBefore(today.minusDays(settings.getHorizonDays())) || end.isAfter(today.plusDays(settings.getHorizonDays()))) {
+            throw new IllegalArgumentException("空き状況を取得できるのは今日の前後" + settings.getHorizonDays() + "日以内です");
+        }
+        if (granularity <= 0 || granularity % slotMinutes != 0 || (24 * 60) % granularity != 0) {
+            throw new IllegalArgumentException(
+                    "粒度は" + slotMinutes + "分の倍数で、1日を割り切れる値である必要があります");
+        }
+        if (!facilityRepository.existsById(facilityId)) {
+            throw new ResourceNotFoundException("施設が見つかりませんでした: " + facilityId);
+        }
+
+        // 応答は取得した時点のビットセットから組み立てる（その後に承認の取り消しで日が破棄されても影響しない）
+        FacilityDays facilityDays = facilities.get(facilityId, id -> new FacilityDays());
+        Map<LocalDate, long[]> snapshot = facilityDays.loadIfNecessary(
+                facilityId, start, end, today.minusDays(settings.getHorizonDays()));
+
+        // 最小粒度のビットを指定粒度ごとにまとめ、1ビットでも埋まっていれば予約不可とする
+        int slotsPerGroup = granularity / slotMinutes;
+        List<AvailabilityDTO.Day> days = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            long[] bits = snapshot.get(date);
+            LocalDateTime dayStart = date.atStartOfDay();
+            List<AvailabilityDTO.Slot> slots = new ArrayList<>();
+            for (int slot = 0; slot < slotsPerDay(); slot += slotsPerGroup) {
+                boolean busy = anySet(bits, slot, slot + slotsPerGroup);
+                slots.add(new AvailabilityDTO.Slot(
+                        dayStart.plusMinutes((long) slot * slotMinutes),
+                        dayStart.plusMinutes((long) (slot + slotsPerGroup) * slotMinutes),
+                        !busy));
+            }
+            days.add(new AvailabilityDTO.Day(date, slots));
+        }
+
+        AvailabilityDTO dto = new AvailabilityDTO();
+        dto.setFacilityId(facilityId);
+        dto.setFrom(start);
+        dto.setTo(end);
+        dto.setGranularityMinutes(granularity);
+        dto.setDays(days);
+        return dto;
+    }
+
+    /**
+     * 予約変更イベントをキャッシュ済みのビットセットに反映する
+     * 新たに承認された予約はビットを立て、承認が外れた予約は該当日のビットセットを破棄する
+     *
+     * @param event 予約変更イベント
+     */
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        FacilityDays facilityDays = facilities.getIfPresent(event.facilityId());
+        if (facilityDays == null) {
+            return;
+        }
+        if (event.isApprovedAfter() && !event.wasApprovedBefore()) {
+            facilityDays.markBusy(event.startTime(), event.endTime());
+        } else if (event.wasApprovedBefore() && !event.isApprovedAfter()) {
+            facilityDays.evict(event.startTime(), event.endTime());
+        }
+    }
+
+    /**
+     * 1日あたりの最小粒度の時間枠数
+     */
+    private int slotsPerDay() {
+        return 24 * 60 / reservationProperties.getAvailability().getSlotMinutes();
+    }
+
+    /**
+     * ビットセットの [fromSlot, toSlot) の範囲に1ビットでも立っているかをワード単位で判定する
+     */
+    private static boolean anySet(long[] bits, int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot; ) {
+            int word = slot >>> 6;
+            int offset = slot & 63;
+            int count = Math.min(64 - offset, toSlot - slot);
+            long mask = (count == 64 ? -1L : ((1L << count) - 1)) << offset;
+            if ((bits[word] & mask) != 0) {
+                return true;
+            }
+            slot += count;
+        }
+        return false;
+    }
+
+    /**
+     * ビットセットの [fromSlot, toSlot) の範囲のビットをワード単位で立てる
+     */
+    private static void setRange(long[] bits, int fromSlot, int toSlot) {
+        for (int slot = fromSlot; slot < toSlot; ) {
+            int word = slot >>> 6;
+            int offset = slot & 63;
+            int count = Math.min(64 - offset, toSlot - slot);
+            bits[word] |= (count == 64 ? -1L : ((1L << count) - 1)) << offset;
+            slot += count;
+        }
+    }
+
+    /**
+     * 1施設分の日別ビットセット
+     * 読み取りは不変のビットセットをロックなしで参照し、構築・更新は施設単位で排他的に行う
+     * （更新時は配列を複製して差し替える）
+     */
+    private final class FacilityDays {
+        private final ConcurrentMap<LocalDate, long[]> days = new ConcurrentHashMap<>();
+
+        /**
+         * 期間内にキャッシュされていない日があれば、その範囲の承認済み予約を1回のクエリで取得して構築し、
+         * 期間内の全日のビットセットを返す
+         * 取得可能な期間より前の日のビットセットはこのときに破棄する
+         *
+         * @return 日付ごとのビットセット（期間内の全日を含み、以降の破棄・差し替えの影響を受けない）
+         */
+        Map<LocalDate, long[]> loadIfNecessary(Long facilityId, LocalDate from, LocalDate to, LocalDate oldest) {
+            // ビットセットは差し替えのみで書き換えないため、全日がそろっていればロックなしで返せる
+            Map<LocalDate, long[]> cached = snapshot(from, to);
+            if (cached != null) {
+                return cached;
+            }
+            synchronized (this) {
+                days.keySet().removeIf(date -> date.isBefore(oldest));
+                // 構築中に破棄された日（構築と同じスレッドで通知された取り消しなど）があれば、そろうまで構築し直す
+                Map<LocalDate, long[]> snapshot;
+                while ((snapshot = snapshot(from, to)) == null) {
+                    load(facilityId, from, to);
+                }
+                return snapshot;
+            }
+        }
+
+        /**
+         * 期間内のキャッシュされていない日を、その範囲の承認済み予約を1回のクエリで取得して構築する
+         */
+        private void load(Long facilityId, LocalDate from, LocalDate to) {
+            LocalDate first = null;
+            LocalDate last = null;
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!days.containsKey(date)) {
+                    first = first == null ? date : first;
+                    last = date;
+                }
+            }
+            if (first == null) {
+                return;
+            }
+
+            int words = (slotsPerDay() + 63) >>> 6;
+            List<LocalDate> missing = new ArrayList<>();
+            List<long[]> built = new ArrayList<>();
+            for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+                if (!days.containsKey(date)) {
+                    missing.add(date);
+                    built.add(new long[words]);
+                }
+            }
+            // 期間の端に接する予約も境界の時間枠を埋めるため、両端を含めて取得する
+            List<Reservation> approved = reservationRepository.findByFacilityIdAndStatusWithin(
+                    facilityId, Reservation.ReservationStatus.APPROVED,
+                    first.atStartOfDay(), last.plusDays(1).atStartOfDay());
+            for (Reservation reservation : approved) {
+                for (int i = 0; i < missing.size(); i++) {
+                    mark(built.get(i), missing.get(i), reservation.getStartTime(), reservation.getEndTime());
+                }
+            }
+            for (int i = 0; i < missing.size(); i++) {
+                days.put(missing.get(i), built.get(i));
+            }
+        }
+
+        synchronized void markBusy(LocalDateTime startTime, LocalDateTime endTime) {
+            for (LocalDate date : datesOf(startTime, endTime)) {
+                long[] bits = days.get(date);
+                if (bits != null) {
+                    long[] updated = bits.clone();
+                    mark(updated, date, startTime, endTime);
+                    days.put(date, updated);
+                }
+            }
+        }
+
+        synchronized void evict(LocalDateTime startTime, LocalDateTime endTime) {
+            for (LocalDate date : datesOf(startTime, endTime)) {
+                days.remove(date);
+            }
+        }
+
+        /**
+         * 期間内の全日のビットセットを取得する（キャッシュされていない日がある場合はnull）
+         */
+        private Map<LocalDate, long[]> snapshot(LocalDate from, LocalDate to) {
+            Map<LocalDate, long[]> snapshot = new HashMap<>();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                long[] bits = days.get(date);
+                if (bits == null) {
+                    return null;
+                }
+                snapshot.put(date, bits);
+            }
+            return snapshot;
+        }
+
+        /**
+         * 指定日の時間枠のうち、予約の時間帯 [startTime, endTime] と重なる時間枠のビットを立てる
+         * 予約の重複判定と同じく境界値を含むため、時間枠 [枠の開始, 枠の終了] が
+         * 枠の開始 <= endTime かつ 枠の終了 >= startTime を満たす場合に予約不可とする
+         */
+        private void mark(long[] bits, LocalDate date, LocalDateTime startTime, LocalDateTime endTime) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            long fromSecond = ChronoUnit.SECONDS.between(dayStart, startTime);
+            long toSecond = ChronoUnit.SECONDS.between(dayStart, endTime);
+            if (toSecond < 0 || fromSecond > SECONDS_PER_DAY) {
+                return;
+            }
+            long slotSeconds = reservationProperties.getAvailability().getSlotMinutes() * 60L;
+            // 枠の終了 ((k + 1) * slotSeconds) >= fromSecond となる最初の枠から、
+            // 枠の開始 (k * slotSeconds) <= toSecond となる最後の枠まで
+            long fromSlot = Math.max(0, Math.ceilDiv(fromSecond, slotSeconds) - 1);
+            long toSlot = Math.min(slotsPerDay(), Math.floorDiv(toSecond, slotSeconds) + 1);
+            if (fromSlot < toSlot) {
+                setRange(bits, (int) fromSlot, (int) toSlot);
+            }
+        }
+
+        /**
+         * 予約の時間帯と重なる時間枠を含む日（境界値を含むため、0時ちょうどに接する前後の日も含む）
+         */
+        private List<LocalDate> datesOf(LocalDateTime startTime, LocalDateTime endTime) {
+            List<LocalDate> dates = new ArrayList<>();
+            for (LocalDate date = startTime.minusNanos(1).toLocalDate(); !date.atStartOfDay().isAfter(endTime); date = date.plusDays(1)) {
+                dates.add(date);
+            }
+            return dates;
+        }
+    }
+}
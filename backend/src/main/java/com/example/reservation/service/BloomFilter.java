@@ -0,0 +1,150 @@
+package com.example.reservation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文字列の集合に対するブルームフィルター
+ * 「含まれていない」という判定は確実で、「含まれているかもしれない」という判定は一定の確率で誤る
+ * <p>
+ * ビット配列は {@link AtomicLongArray} で保持し、追加・判定ともにロックなしで並行して実行できる。
+ * 各要素のビット位置は64ビットハッシュ2つからのダブルハッシュで求める
+ */
+public final class BloomFilter {
+    /**
+     * ビット配列
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * ビット数
+     */
+    private final long bitCount;
+
+    /**
+     * 1要素あたりのハッシュ関数の数
+     */
+    private final int hashCount;
+
+    /**
+     * 追加した要素数（重複を含む概算）
+     */
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * 想定要素数と目標の偽陽性率から最適なビット数・ハッシュ関数の数を求めて生成する
+     *
+     * @param expectedInsertions 想定する要素数
+     * @param falsePositiveRate  想定要素数を追加したときの目標の偽陽性率（0より大きく1未満）
+     * @throws IllegalArgumentException 引数が範囲外の場合
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("想定要素数は1以上である必要があります");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("偽陽性率は0より大きく1未満である必要があります");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (optimalBits + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 要素を追加する
+     *
+     * @param value 追加する文字列
+     */
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.weakCompareAndSetVolatile(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * 要素が含まれているかもしれないかを判定する
+     *
+     * @param value 判定する文字列
+     * @return 含まれているかもしれない場合はtrue、確実に含まれていない場合はfalse
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * ビット配列のメモリ使用量
+     *
+     * @return バイト数
+     */
+    public long byteSize() {
+        return bitCount >>> 3;
+    }
+
+    /**
+     * 1要素あたりのハッシュ関数の数
+     *
+     * @return ハッシュ関数の数
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 追加した要素数（重複を含む概算）
+     *
+     * @return 要素数
+     */
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * 現在の要素数から見積もった偽陽性率
+     *
+     * @return 偽陽性率の見積もり
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * insertions.sum() / bitCount), hashCount);
+    }
+
+    /**
+     * UTF-8のバイト列に対する64ビットハッシュ（FNV-1aにビット拡散を加えたもの）
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * 64ビット値のビット拡散（SplitMix64の最終段）
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
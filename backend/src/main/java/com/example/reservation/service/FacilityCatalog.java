@@ -0,0 +1,137 @@
+package com.example.reservation.service;
+
+import com.example.reservation.event.FacilityChangedEvent;
+import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.repository.FacilityRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 全施設の一覧（施設カタログ）をシリアライズ済みのJSONとして保持するスナップショット
+ * <p>
+ * 初回参照時に1回のクエリで構築し、施設の作成・更新・削除（{@link FacilityChangedEvent}）の
+ * コミット後に作り直す。一覧の取得はデータベースにもJacksonにも触れずにバイト列を返し、
+ * 内容から求めた強いETagで条件付きリクエストに304を返せるようにする
+ */
+@Component
+@RequiredArgsConstructor
+public class FacilityCatalog {
+    /**
+     * 施設リポジトリ - スナップショットの構築に使用
+     */
+    private final FacilityRepository facilityRepository;
+
+    /**
+     * スナップショットのJSONを生成するマッパー
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 現在のスナップショット（未構築・破棄後はnull）
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * スナップショットの世代（施設の変更ごとに増える）
+     */
+    private long version;
+
+    /**
+     * 現在のスナップショットを取得する（未構築の場合は構築する）
+     *
+     * @return 施設カタログのスナップショット
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = build(version);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 施設の変更のコミット後にスナップショットを作り直す
+     * トランザクション内で発行された場合はコミット後に、トランザクション外の場合は即座に処理される
+     *
+     * @param event 施設変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        synchronized (this) {
+            version++;
+            snapshot = null;
+        }
+        current();
+    }
+
+    private Snapshot build(long version) {
+        List<FacilityDTO> facilities = facilityRepository.findAll().stream().map(FacilityDTO::fromEntity).toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(facilities);
+            return new Snapshot(version, json, etagOf(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("施設カタログのシリアライズに失敗しました", e);
+        }
+    }
+
+    /**
+     * JSONの内容から強いETagを求める（SHA-256の先頭128ビット）
+     * 再起動後や複数インスタンス間でも、内容が同じであれば同じ値になる
+     */
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256を使用できません", e);
+        }
+    }
+
+    /**
+     * 施設カタログのスナップショット
+     *
+     * @param version スナップショットの世代
+     * @param json    施設一覧のJSON（UTF-8）
+     * @param etag    JSONの内容から求めた強いETag（引用符を含む）
+     */
+    public record Snapshot(long version, byte[] json, String etag) {
+
+        /**
+         * If-None-Matchヘッダーの値がこのスナップショットのETagに一致するかどうか
+         * 複数のETagの指定、「*」、弱いETag（W/）の指定に対応する
+         *
+         * @param ifNoneMatch If-None-Matchヘッダーの値（nullの場合は一致しない）
+         * @return 一致する場合はtrue
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.ReservationProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 施設IDごとにストライプ化されたロックを管理するクラス
+ * 同一施設に対する「重複チェック → 保存」を直列化しつつ、
+ * 異なる施設（異なるストライプ）の予約処理は完全に並行して実行できるようにする
+ * <p>
+ * ストライプごとの取得回数・競合回数・待ち時間はメトリクスとして公開される
+ * （reservation.facility.lock.*、タグ stripe）
+ * ロックはJVM内でのみ有効であり、複数インスタンス間の排他はデータベース側の制約で担保する
+ */
+@Component
+public class FacilityLockManager {
+    /**
+     * ストライプごとのロック
+     */
+    private final ReentrantLock[] locks;
+
+    /**
+     * ストライプごとの統計情報
+     */
+    private final StripeCounters[] counters;
+
+    /**
+     * ストライプ番号を求めるためのビットマスク（ストライプ数 - 1）
+     */
+    private final int mask;
+
+    /**
+     * コンストラクタ - ストライプを初期化し、メトリクスを登録する
+     *
+     * @param reservationProperties 予約機能の設定（ストライプ数）
+     * @param meterRegistry         メトリクスの登録先
+     */
+    public FacilityLockManager(ReservationProperties reservationProperties, MeterRegistry meterRegistry) {
+        // ストライプ数を2のべき乗に切り上げる
+        int requested = Math.max(1, reservationProperties.getLock().getStripes());
+        int stripes = requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.mask = stripes - 1;
+        this.locks = new ReentrantLock[stripes];
+        this.counters = new StripeCounters[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+            counters[i] = new StripeCounters();
+            registerMetrics(meterRegistry, i);
+        }
+    }
+
+    /**
+     * 指定された施設のロックを取得した状態で処理を実行する
+     *
+     * @param facilityId 施設ID
+     * @param action     ロック保持中に実行する処理
+     * @param <T>        処理結果の型
+     * @return 処理結果
+     */
+    public <T> T withFacilityLock(Long facilityId, Supplier<T> action) {
+        int stripe = stripeOf(facilityId);
+        lock(stripe);
+        try {
+            return action.get();
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    /**
+     * 複数の施設のロックをすべて取得した状態で処理を実行する
+     * デッドロックを避けるため、ロックは常にストライプ番号の昇順で取得する
+     *
+     * @param facilityIds 施設IDのコレクション
+     * @param action      ロック保持中に実行する処理
+     * @param <T>         処理結果の型
+     * @return 処理結果
+     */
+    public <T> T withFacilityLocks(Collection<Long> facilityIds, Supplier<T> action) {
+        int[] stripes = facilityIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                lock(stripe);
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * 施設IDが割り当てられるストライプ番号を返す
+     *
+     * @param facilityId 施設ID
+     * @return ストライプ番号
+     */
+    public int stripeOf(Long facilityId) {
+        int hash = Long.hashCode(facilityId);
+        // 連番IDでも偏らないように上位ビットを混ぜる
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return hash & mask;
+    }
+
+    /**
+     * ストライプ数を返す
+     *
+     * @return ストライプ数
+     */
+    public int getStripeCount() {
+        return locks.length;
+    }
+
+    /**
+     * 指定されたストライプの統計情報を返す
+     *
+     * @param stripe ストライプ番号
+     * @return ストライプの統計情報
+     */
+    public StripeStatistics statistics(int stripe) {
+        StripeCounters stripeCounters = counters[stripe];
+        return new StripeStatistics(
+                stripe,
+                stripeCounters.acquisitions.sum(),
+                stripeCounters.contended.sum(),
+                stripeCounters.waitNanos.sum(),
+                locks[stripe].getQueueLength());
+    }
+
+    /**
+     * ストライプのロックを取得し、統計情報を記録する
+     *
+     * @param stripe ストライプ番号
+     */
+    private void lock(int stripe) {
+        ReentrantLock lock = locks[stripe];
+        StripeCounters stripeCounters = counters[stripe];
+
+        // まず待たずに取得を試み、取得できなかった場合のみ競合として待ち時間を計測する
+        if (!lock.tryLock()) {
+            long waitStart = System.nanoTime();
+            lock.lock();
+            stripeCounters.contended.increment();
+            stripeCounters.waitNanos.add(System.nanoTime() - waitStart);
+        }
+        stripeCounters.acquisitions.increment();
+    }
+
+    /**
+     * ストライプのメトリクスを登録する
+     *
+     * @param meterRegistry メトリクスの登録先
+     * @param stripe        ストライプ番号
+     */
+    private void registerMetrics(MeterRegistry meterRegistry, int stripe) {
+        String tag = String.valueOf(stripe);
+        StripeCounters stripeCounters = counters[stripe];
+        FunctionCounter.builder("reservation.facility.lock.acquisitions", stripeCounters.acquisitions, LongAdder::sum)
+                .description("施設ロックの取得回数")
+                .tag("stripe", tag)
+                .register(meterRegistry);
+        FunctionTimer.builder("reservation.facility.lock.wait", stripeCounters,
+                        c -> c.contended.sum(), c -> c.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("施設ロックの競合回数と待ち時間")
+                .tag("stripe", tag)
+                .register(meterRegistry);
+        Gauge.builder("reservation.facility.lock.queue", locks[stripe], ReentrantLock::getQueueLength)
+                .description("施設ロックの待ちスレッド数")
+                .tag("stripe", tag)
+                .register(meterRegistry);
+    }
+
+    /**
+     * ストライプの統計情報
+     *
+     * @param stripe       ストライプ番号
+     * @param acquisitions ロック取得回数
+     * @param contended    取得時に待ちが発生した回数
+     * @param waitNanos    待ち時間の合計（ナノ秒）
+     * @param queueLength  現在の待ちスレッド数（概算）
+     */
+    public record StripeStatistics(int stripe, long acquisitions, long contended, long waitNanos, int queueLength) {
+    }
+
+    /**
+     * ストライプごとのカウンター
+     */
+    private static final class StripeCounters {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.reservation.service;
+
+import com.example.reservation.event.FacilityChangedEvent;
+import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.repository.FacilityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 施設名・場所・説明を対象とした、メモリ上のトライグラム（3文字単位）転置索引
+ * <p>
+ * 初回検索時に全施設を1回のクエリで読み込んで構築し、施設の作成・更新・削除（{@link FacilityChangedEvent}）の
+ * コミット後に破棄して次回の検索時に作り直す。トライグラムごとの転置リストは施設の連番を昇順に並べた int[] で保持し、
+ * 検索語のトライグラムの転置リストの積集合を候補として、正規化した文字列の部分一致で確認してから順位付けする
+ * <p>
+ * 文字列は NFKC 正規化（全角英数字・記号の半角化、半角カナの全角化）、小文字化、ひらがなのカタカナ化、
+ * 空白の除去を行ってから索引化・検索する。3文字未満の検索語は転置リストを使わず全施設を走査する
+ */
+@Component
+@RequiredArgsConstructor
+public class FacilitySearchIndex {
+    /**
+     * 施設名との完全一致・前方一致・部分一致、場所・説明との部分一致の得点
+     */
+    private static final int NAME_EXACT = 100;
+    private static final int NAME_PREFIX = 60;
+    private static final int NAME_CONTAINS = 40;
+    private static final int LOCATION_CONTAINS = 20;
+    private static final int DESCRIPTION_CONTAINS = 10;
+
+    /**
+     * 施設リポジトリ - 索引の構築に使用
+     */
+    private final FacilityRepository facilityRepository;
+
+    /**
+     * 現在の索引（未構築・破棄後はnull）
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * 検索語に一致する施設を関連度の高い順に取得する
+     * 施設名との一致を場所・説明との一致より優先し、同じ得点の場合は施設名の短い順、ID順に並べる
+     *
+     * @param query  検索語
+     * @param limit  取得件数
+     * @param offset 読み飛ばす件数
+     * @return 一致した施設のリスト
+     */
+    public List<FacilityDTO> search(String query, int limit, int offset) {
+        return current().search(normalize(query), limit, offset);
+    }
+
+    /**
+     * 施設の変更のコミット後に索引を破棄する（次回の検索時に作り直す）
+     * トランザクション内で発行された場合はコミット後に、トランザクション外の場合は即座に処理される
+     *
+     * @param event 施設変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFacilityChanged(FacilityChangedEvent event) {
+        synchronized (this) {
+            snapshot = null;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = Snapshot.build(facilityRepository.findAll().stream().map(FacilityDTO::fromEntity).toList());
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * 索引・検索に使用する文字列の正規化
+     * NFKC正規化、小文字化、ひらがなのカタカナ化を行い、空白を取り除く
+     *
+     * @param text 正規化する文字列（nullの場合は空文字列）
+     * @return 正規化された文字列
+     */
+    static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            // ひらがな（ぁ〜ゖ、ゝゞ）を対応するカタカナに変換する
+            if ((c >= 'ぁ' && c <= 'ゖ') || c == 'ゝ' || c == 'ゞ') {
+                c = (char) (c + 0x60);
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 3文字を1つのlongにまとめたトライグラムのキー
+     */
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * 構築済みの不変の索引
+     * 施設は連番（0〜件数-1）で管理し、正規化済みの文字列と転置リストを保持する
+     */
+    static final class Snapshot {
+        private final FacilityDTO[] facilities;
+        private final String[] names;
+        private final String[] locations;
+        private final String[] descriptions;
+        private final Map<Long, int[]> postings;
+
+        private Snapshot(FacilityDTO[] facilities, String[] names, String[] locations, String[] descriptions,
+                         Map<Long, int[]> postings) {
+            this.facilities = facilities;
+            this.names = names;
+            this.locations = locations;
+            this.descriptions = descriptions;
+            this.postings = postings;
+        }
+
+        static Snapshot build(List<FacilityDTO> source) {
+            int size = source.size();
+            FacilityDTO[] facilities = source.toArray(FacilityDTO[]::new);
+            String[] names = new String[size];
+            String[] locations = new String[size];
+            String[] descriptions = new String[size];
+            Map<Long, IntList> builders = new HashMap<>();
+            Set<Long> grams = new HashSet<>();
+            for (int doc = 0; doc < size; doc++) {
+                names[doc] = normalize(facilities[doc].getName());
+                locations[doc] = normalize(facilities[doc].getLocation());
+                descriptions[doc] = normalize(facilities[doc].getDescription());
+                grams.clear();
+                addTrigrams(names[doc], grams);
+                addTrigrams(locations[doc], grams);
+                addTrigrams(descriptions[doc], grams);
+                // 施設は連番の昇順に処理されるため、転置リストは並べ替えなしで昇順になる
+                for (Long gram : grams) {
+                    builders.computeIfAbsent(gram, key -> new IntList()).add(doc);
+                }
+            }
+            Map<Long, int[]> postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+            builders.forEach((gram, list) -> postings.put(gram, list.toArray()));
+            return new Snapshot(facilities, names, locations, descriptions, postings);
+        }
+
+        List<FacilityDTO> search(String query, int limit, int offset) {
+            int[] candidates = candidates(query);
+            List<int[]> matches = new ArrayList<>();
+            for (int doc : candidates) {
+                int score = score(doc, query);
+                if (score > 0) {
+                    matches.add(new int[]{doc, score});
+                }
+            }
+            matches.sort(Comparator.<int[]>comparingInt(match -> -match[1])
+                    .thenComparingInt(match -> names[match[0]].length())
+                    .thenComparingLong(match -> facilities[match[0]].getId()));
+
+            List<FacilityDTO> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.size() - offset)));
+            for (int i = offset; i < matches.size() && page.size() < limit; i++) {
+                page.add(facilities[matches.get(i)[0]]);
+            }
+            return page;
+        }
+
+        /**
+         * 検索語のすべてのトライグラムを含む施設の連番（3文字未満の場合は全施設）
+         */
+        private int[] candidates(String query) {
+            if (query.length() < 3) {
+                int[] all = new int[facilities.length];
+                Arrays.setAll(all, i -> i);
+                return all;
+            }
+            Set<Long> grams = new HashSet<>();
+            addTrigrams(query, grams);
+            List<int[]> lists = new ArrayList<>(grams.size());
+            for (Long gram : grams) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            // 短い転置リストから順に積集合をとり、候補を早く絞り込む
+            lists.sort(Comparator.comparingInt(list -> list.length));
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        /**
+         * 正規化済みの検索語との一致による得点（一致しない場合は0）
+         * 転置リストの積集合は別々の項目のトライグラムが揃った場合も含むため、ここで部分一致を確認する
+         */
+        private int score(int doc, String query) {
+            int score = 0;
+            String name = names[doc];
+            if (name.equals(query)) {
+                score += NAME_EXACT;
+            } else if (name.startsWith(query)) {
+                score += NAME_PREFIX;
+            } else if (name.contains(query)) {
+                score += NAME_CONTAINS;
+            }
+            if (locations[doc].contains(query)) {
+                score += LOCATION_CONTAINS;
+            }
+            if (descriptions[doc].contains(query)) {
+                score += DESCRIPTION_CONTAINS;
+            }
+            return score;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] result = new int[Math.min(a.length, b.length)];
+            int count = 0;
+            for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static void addTrigrams(String text, Set<Long> grams) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                grams.add(trigram(text, i));
+            }
+        }
+    }
+
+    /**
+     * 転置リストの構築に使用する、拡張可能なintの配列
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
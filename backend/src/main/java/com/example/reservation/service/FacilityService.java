@@ -1,7 +1,9 @@
 package com.example.reservation.service;
 
 import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.model.dto.FacilitySearchDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -35,6 +37,31 @@ public interface FacilityService {
      */
     List<FacilityDTO> findByNameContaining(String name);
 
+    /**
+     * キーワードで施設を検索する
+     * 施設名・場所・説明を対象に、全角・半角やひらがな・カタカナの違いを無視して部分一致で検索し、
+     * 関連度の高い順（施設名との一致を優先）に返す
+     *
+     * @param keyword 検索キーワード
+     * @param limit   取得件数（nullの場合は既定値）
+     * @param offset  読み飛ばす件数（nullの場合は0）
+     * @return 条件に一致する施設のリスト（FacilityDTO形式）
+     * @throws IllegalArgumentException 取得件数または読み飛ばす件数が不正な場合
+     */
+    List<FacilityDTO> search(String keyword, Integer limit, Integer offset);
+
+    /**
+     * 施設名・場所・収容人数の範囲・空いている時間帯を組み合わせて施設を絞り込む
+     * 指定された条件のすべてに一致する施設を、収容人数の昇順で返す
+     *
+     * @param filter 絞り込み条件（nullの項目は絞り込まない）
+     * @param limit  取得件数（nullの場合は既定値）
+     * @param offset 読み飛ばす件数（nullの場合は0）
+     * @return 条件に一致する施設のリスト（FacilityDTO形式）
+     * @throws IllegalArgumentException 絞り込み条件、取得件数または読み飛ばす件数が不正な場合
+     */
+    List<FacilityDTO> filter(FacilitySearchDTO filter, Integer limit, Integer offset);
+
     /**
      * 指定された最小収容人数以上の施設を検索する
      *
@@ -44,6 +71,17 @@ public interface FacilityService {
      */
     List<FacilityDTO> findByMinCapacity(Integer minCapacity);
 
+    /**
+     * 指定された時間帯に空いている、最小収容人数以上の施設を検索する
+     *
+     * @param minCapacity 最小収容人数（nullの場合は収容人数で絞り込まない）
+     * @param startTime   開始時間
+     * @param endTime     終了時間
+     * @return 空いている施設のリスト（収容人数の昇順）
+     * 該当する施設がない場合は空のリストが返される
+     */
+    List<FacilityDTO> findAvailable(Integer minCapacity, LocalDateTime startTime, LocalDateTime endTime);
+
     /**
      * 新規施設を作成する
      *
@@ -1,13 +1,21 @@
 package com.example.reservation.service;
 
+import com.example.reservation.config.FacilitySearchProperties;
+import com.example.reservation.event.FacilityChangedEvent;
+import com.example.reservation.exception.IllegalOperationException;
 import com.example.reservation.exception.ResourceNotFoundException;
 import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.model.dto.FacilitySearchDTO;
 import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
 import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +27,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor // Lombokアノテーション：finalフィールドのみを引数とするコンストラクタを自動生成
 public class FacilityServiceImpl implements FacilityService {
     private final FacilityRepository facilityRepository; // 施設情報の永続化を担当するリポジトリ
+    private final ReservationRepository reservationRepository; // 削除時に施設の予約の有無を確認するリポジトリ
+    private final ApplicationEventPublisher eventPublisher; // 施設カタログのスナップショットへ変更を通知する発行者
+    private final FacilitySearchIndex facilitySearchIndex; // 施設名・場所・説明のトライグラム索引
+    private final FacilitySearchProperties facilitySearchProperties; // 施設検索の設定
 
     /**
      * 指定されたIDの施設を検索します
@@ -63,6 +75,86 @@ public class FacilityServiceImpl implements FacilityService {
         return facilities.stream().map(FacilityDTO::fromEntity).collect(Collectors.toList());
     }
 
+    /**
+     * キーワードで施設を検索します
+     * 索引が有効な場合はメモリ上のトライグラム索引で施設名・場所・説明を検索し、関連度の高い順に返します
+     * 無効な場合はデータベースで施設名の部分一致検索を行います
+     *
+     * @param keyword 検索キーワード
+     * @param limit   取得件数（nullの場合は既定値）
+     * @param offset  読み飛ばす件数（nullの場合は0）
+     * @return 該当する施設情報DTOのリスト
+     * @throws IllegalArgumentException 取得件数または読み飛ばす件数が不正な場合
+     */
+    @Override
+    public List<FacilityDTO> search(String keyword, Integer limit, Integer offset) {
+        int pageSize = pageSize(limit);
+        int skip = skip(offset);
+
+        if (facilitySearchProperties.isEnabled()) {
+            return facilitySearchIndex.search(keyword, pageSize, skip);
+        }
+        return facilityRepository.findByNameContainingIgnoreCase(keyword).stream()
+                .skip(skip)
+                .limit(pageSize)
+                .map(FacilityDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * 施設名・場所・収容人数の範囲・空いている時間帯を組み合わせて施設を絞り込みます
+     * すべての条件を1回のクエリで判定し、収容人数・IDの昇順で返します
+     *
+     * @param filter 絞り込み条件
+     * @param limit  取得件数（nullの場合は既定値）
+     * @param offset 読み飛ばす件数（nullの場合は0）
+     * @return 該当する施設情報DTOのリスト
+     * @throws IllegalArgumentException 絞り込み条件、取得件数または読み飛ばす件数が不正な場合
+     */
+    @Override
+    public List<FacilityDTO> filter(FacilitySearchDTO filter, Integer limit, Integer offset) {
+        int pageSize = pageSize(limit);
+        int skip = skip(offset);
+
+        // 収容人数の範囲と時間帯の検証
+        if (filter.getMinCapacity() != null && filter.getMaxCapacity() != null
+                && filter.getMinCapacity() > filter.getMaxCapacity()) {
+            throw new IllegalArgumentException("最小収容人数は最大収容人数以下である必要があります");
+        }
+        if ((filter.getAvailableFrom() == null) != (filter.getAvailableTo() == null)) {
+            throw new IllegalArgumentException("空いている時間帯は開始時間と終了時間の両方を指定してください");
+        }
+        if (filter.getAvailableFrom() != null && !filter.getAvailableFrom().isBefore(filter.getAvailableTo())) {
+            throw new IllegalArgumentException("開始時間は終了時間より前である必要があります");
+        }
+
+        return facilityRepository.findByFilter(filter, skip, pageSize).stream()
+                .map(FacilityDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * 取得件数の検証（nullの場合は既定値）
+     */
+    private int pageSize(Integer limit) {
+        int pageSize = limit != null ? limit : facilitySearchProperties.getDefaultLimit();
+        if (pageSize < 1 || pageSize > facilitySearchProperties.getMaxLimit()) {
+            throw new IllegalArgumentException("取得件数は1以上" + facilitySearchProperties.getMaxLimit() + "以下である必要があります");
+        }
+        return pageSize;
+    }
+
+    /**
+     * 読み飛ばす件数の検証（nullの場合は0）
+     */
+    private int skip(Integer offset) {
+        int skip = offset != null ? offset : 0;
+        if (skip < 0) {
+            throw new IllegalArgumentException("読み飛ばす件数は0以上である必要があります");
+        }
+        return skip;
+    }
+
     /**
      * 指定された収容人数以上の施設を検索します
      *
@@ -77,6 +169,30 @@ public class FacilityServiceImpl implements FacilityService {
         return facilities.stream().map(FacilityDTO::fromEntity).collect(Collectors.toList());
     }
 
+    /**
+     * 指定された時間帯に空いている、最小収容人数以上の施設を検索します
+     * 承認済み予約とのアンチジョインにより1回のクエリで取得し、収容人数の昇順で返します
+     *
+     * @param minCapacity 最小収容人数（nullの場合は絞り込まない）
+     * @param startTime   開始時間
+     * @param endTime     終了時間
+     * @return 空いている施設情報DTOのリスト
+     * @throws IllegalArgumentException 時間帯の指定が不正な場合
+     */
+    @Override
+    public List<FacilityDTO> findAvailable(Integer minCapacity, LocalDateTime startTime, LocalDateTime endTime) {
+        // 時間帯の検証
+        if (startTime == null || endTime == null || !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("開始時間は終了時間より前である必要があります");
+        }
+        List<Facility> facilities = facilityRepository.findAvailableByCapacity(
+                minCapacity,
+                Reservation.ReservationStatus.APPROVED,
+                startTime,
+                endTime);
+        return facilities.stream().map(FacilityDTO::fromEntity).toList();
+    }
+
     /**
      * 新しい施設を作成します
      *
@@ -96,31 +212,59 @@ public class FacilityServiceImpl implements FacilityService {
 
         // データベースへの保存（created_atとupdated_atは@PrePersistで自動設定される）
         Facility savedFacility = facilityRepository.save(facility);
+        // 施設カタログに変更を通知（コミット後にスナップショットが作り直される）
+        eventPublisher.publishEvent(new FacilityChangedEvent(savedFacility.getId()));
         // 保存されたエンティティをDTOに変換して返却
         return FacilityDTO.fromEntity(savedFacility);
     }
 
     /**
      * 指定されたIDの施設情報を更新します
-     * 現在は実装されていません（null返却）
      *
      * @param id          更新する施設のID
      * @param facilityDTO 更新する施設の情報
      * @return 更新された施設の情報DTO
+     * @throws ResourceNotFoundException 施設が見つからない場合
      */
     @Override
+    @Transactional
     public FacilityDTO update(Long id, FacilityDTO facilityDTO) {
-        return null; // 未実装（実装時には既存の施設を取得し、値を更新した後保存する処理が必要）
+        // 既存の施設を取得し、見つからない場合は例外をスロー
+        Facility facility = facilityRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("施設が見つかりませんでした: " + id));
+        facility.setName(facilityDTO.getName());        // 施設名を設定
+        facility.setDescription(facilityDTO.getDescription()); // 説明を設定
+        facility.setCapacity(facilityDTO.getCapacity());    // 収容人数を設定
+        facility.setLocation(facilityDTO.getLocation());    // 場所を設定
+        facility.setImageUrl(facilityDTO.getImageUrl());    // 画像URLを設定
+
+        // データベースへの保存（updated_atは@PreUpdateで自動設定される）
+        Facility updatedFacility = facilityRepository.save(facility);
+        // 施設カタログに変更を通知（コミット後にスナップショットが作り直される）
+        eventPublisher.publishEvent(new FacilityChangedEvent(id));
+        return FacilityDTO.fromEntity(updatedFacility);
     }
 
     /**
      * 指定されたIDの施設を削除します
-     * 現在は実装されていません
      *
      * @param id 削除する施設のID
+     * @throws ResourceNotFoundException 施設が見つからない場合
+     * @throws IllegalOperationException 施設に予約が存在する場合
      */
     @Override
+    @Transactional
     public void delete(Long id) {
-        // 未実装（実装時には指定IDの施設を削除する処理が必要）
+        // 削除対象の施設の存在確認
+        if (!facilityRepository.existsById(id)) {
+            throw new ResourceNotFoundException("施設が見つかりませんでした: " + id);
+        }
+        // 予約が存在する施設は削除できない
+        if (reservationRepository.existsByFacilityId(id)) {
+            throw new IllegalOperationException("予約が存在する施設は削除できません: " + id);
+        }
+        facilityRepository.deleteById(id);
+        // 施設カタログに変更を通知（コミット後にスナップショットが作り直される）
+        eventPublisher.publishEvent(new FacilityChangedEvent(id));
     }
-}
\ No newline at end of file
+}
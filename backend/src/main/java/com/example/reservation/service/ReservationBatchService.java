@@ -0,0 +1,20 @@
+package com.example.reservation.service;
+
+import com.example.reservation.model.dto.ReservationBatchDTO;
+import com.example.reservation.model.dto.ReservationBatchResultDTO;
+
+/**
+ * 予約の一括作成を行うサービスインターフェース
+ * 予約のリストまたは繰り返しルールから複数の予約をまとめて作成する
+ */
+public interface ReservationBatchService {
+    /**
+     * 予約の一括作成
+     * すべての予約の重複チェックを施設ごとに1回の範囲検索で行い、JDBCバッチでまとめて登録する
+     *
+     * @param batchDTO 一括作成の内容（予約のリストまたは繰り返しルールと、作成方式）
+     * @param userId   予約するユーザーのID
+     * @return 予約ごとの作成結果
+     */
+    ReservationBatchResultDTO createBatch(ReservationBatchDTO batchDTO, Long userId);
+}
@@ -0,0 +1,286 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.ReservationProperties;
+import com.example.reservation.event.ReservationChangedEvent;
+import com.example.reservation.exception.ResourceNotFoundException;
+import com.example.reservation.model.dto.ReservationBatchDTO;
+import com.example.reservation.model.dto.ReservationBatchResultDTO;
+import com.example.reservation.model.dto.ReservationCreateDTO;
+import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.model.entity.User;
+import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationJdbcRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.example.reservation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 予約の一括作成サービスの実装クラス
+ * 施設・ユーザーの取得と重複チェックを予約ごとではなく一括で行い、
+ * 作成可能な予約をJDBCバッチで1回のトランザクションとして登録する
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationBatchServiceImpl implements ReservationBatchService {
+    private static final String SLOT_TAKEN = "指定された時間枠は既に予約されています";
+
+    /**
+     * 予約リポジトリ - 既存の承認済み予約の範囲検索に使用
+     */
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * 予約のJDBCリポジトリ - 予約のバッチ登録に使用
+     */
+    private final ReservationJdbcRepository reservationJdbcRepository;
+
+    /**
+     * ユーザーリポジトリ - ユーザーデータへのアクセスを提供
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * 施設リポジトリ - 施設データへのアクセスを提供
+     */
+    private final FacilityRepository facilityRepository;
+
+    /**
+     * 予約機能の設定 - 一括作成できる最大件数
+     */
+    private final ReservationProperties reservationProperties;
+
+    /**
+     * 予約変更イベントの発行者 - 索引やキャッシュへ変更を通知する
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 施設単位のストライプロック - 重複チェックから登録までを直列化する
+     */
+    private final FacilityLockManager facilityLockManager;
+
+    /**
+     * バッチ登録を1つのトランザクションで実行するためのテンプレート
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 予約の一括作成
+     *
+     * @param batchDTO 一括作成の内容
+     * @param userId   予約するユーザーのID
+     * @return 予約ごとの作成結果
+     * @throws IllegalArgumentException  リクエストの内容が不正な場合
+     * @throws ResourceNotFoundException ユーザーが見つからない場合
+     */
+    @Override
+    public ReservationBatchResultDTO createBatch(ReservationBatchDTO batchDTO, Long userId) {
+        List<ReservationCreateDTO> requests = expand(batchDTO);
+        ReservationBatchDTO.Mode mode = batchDTO.getMode() != null ? batchDTO.getMode() : ReservationBatchDTO.Mode.ALL_OR_NOTHING;
+
+        // ユーザーと施設はリクエスト全体で1回ずつ取得する
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("ユーザが見つかりませんでした: " + userId));
+        Map<Long, Facility> facilities = facilityRepository.findAllById(
+                        requests.stream().map(ReservationCreateDTO::getFacilityId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Facility::getId, Function.identity()));
+
+        // 施設・時間の検証を行い、作成候補の予約を組み立てる
+        int size = requests.size();
+        String[] errors = new String[size];
+        Reservation[] candidates = new Reservation[size];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            ReservationCreateDTO request = requests.get(i);
+            Facility facility = facilities.get(request.getFacilityId());
+            if (facility == null) {
+                errors[i] = "施設が見つかりませんでした: " + request.getFacilityId();
+            } else if (request.getEndTime().isBefore(request.getStartTime())) {
+                errors[i] = "終了時間は開始時間より後である必要があります";
+            } else if (request.getStartTime().isBefore(now)) {
+                errors[i] = "過去の時間に予約を作成することはできません";
+            } else {
+                Reservation reservation = new Reservation();
+                reservation.setFacility(facility);
+                reservation.setUser(user);
+                reservation.setStartTime(request.getStartTime());
+                reservation.setEndTime(request.getEndTime());
+                reservation.setPurpose(request.getPurpose());
+                reservation.setStatus(Reservation.ReservationStatus.PENDING);  // 初期ステータスは承認待ち
+                candidates[i] = reservation;
+            }
+        }
+
+        // 施設ごとに候補の位置をまとめる
+        Map<Long, List<Integer>> byFacility = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (candidates[i] != null) {
+                byFacility.computeIfAbsent(candidates[i].getFacility().getId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // 重複チェックから登録までを関係するすべての施設のロック内で行う
+        boolean committed = facilityLockManager.withFacilityLocks(byFacility.keySet(), () -> {
+            for (Map.Entry<Long, List<Integer>> entry : byFacility.entrySet()) {
+                checkConflicts(entry.getKey(), entry.getValue(), candidates, errors);
+            }
+
+            boolean anyRejected = false;
+            List<Reservation> accepted = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (errors[i] != null) {
+                    anyRejected = true;
+                } else {
+                    accepted.add(candidates[i]);
+                }
+            }
+            // ALL_OR_NOTHINGの場合は1件でも作成できなければ何も登録しない
+            if (anyRejected && mode == ReservationBatchDTO.Mode.ALL_OR_NOTHING) {
+                return false;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> reservationJdbcRepository.insertAll(accepted));
+            accepted.forEach(reservation -> eventPublisher.publishEvent(ReservationChangedEvent.created(reservation)));
+            return true;
+        });
+
+        return toResult(mode, requests, candidates, errors, committed);
+    }
+
+    /**
+     * リクエストを個々の予約の一覧に展開する
+     *
+     * @param batchDTO 一括作成の内容
+     * @return 作成する予約の一覧
+     * @throws IllegalArgumentException リクエストの内容が不正な場合
+     */
+    private List<ReservationCreateDTO> expand(ReservationBatchDTO batchDTO) {
+        boolean hasList = batchDTO.getReservations() != null && !batchDTO.getReservations().isEmpty();
+        boolean hasRecurrence = batchDTO.getRecurrence() != null;
+        if (hasList == hasRecurrence) {
+            throw new IllegalArgumentException("予約のリストまたは繰り返しルールのどちらか一方を指定してください");
+        }
+
+        int maxOccurrences = reservationProperties.getBatch().getMaxOccurrences();
+        List<ReservationCreateDTO> requests = hasList ? batchDTO.getReservations() : expandRecurrence(batchDTO.getRecurrence(), maxOccurrences);
+        if (requests.size() > maxOccurrences) {
+            throw new IllegalArgumentException("一度に作成できる予約は" + maxOccurrences + "件までです");
+        }
+        return requests;
+    }
+
+    /**
+     * 繰り返しルールを個々の予約に展開する
+     *
+     * @param recurrence     繰り返しルール
+     * @param maxOccurrences 展開できる最大件数
+     * @return 展開された予約の一覧（最大件数を超える場合は最大件数 + 1件）
+     */
+    private List<ReservationCreateDTO> expandRecurrence(ReservationBatchDTO.Recurrence recurrence, int maxOccurrences) {
+        if (recurrence.getCount() == null && recurrence.getUntil() == null) {
+            throw new IllegalArgumentException("繰り返しの回数または終了日を指定してください");
+        }
+        ReservationCreateDTO template = recurrence.getTemplate();
+        List<ReservationCreateDTO> requests = new ArrayList<>();
+        for (int i = 0; requests.size() <= maxOccurrences; i++) {
+            if (recurrence.getCount() != null && i >= recurrence.getCount()) {
+                break;
+            }
+            long step = (long) i * recurrence.getInterval();
+            LocalDateTime startTime = recurrence.getFrequency() == ReservationBatchDTO.Frequency.WEEKLY
+                    ? template.getStartTime().plusWeeks(step)
+                    : template.getStartTime().plusDays(step);
+            if (recurrence.getUntil() != null && startTime.toLocalDate().isAfter(recurrence.getUntil())) {
+                break;
+            }
+            ReservationCreateDTO occurrence = new ReservationCreateDTO();
+            occurrence.setFacilityId(template.getFacilityId());
+            occurrence.setStartTime(startTime);
+            occurrence.setEndTime(startTime.plus(Duration.between(template.getStartTime(), template.getEndTime())));
+            occurrence.setPurpose(template.getPurpose());
+            requests.add(occurrence);
+        }
+        return requests;
+    }
+
+    /**
+     * 1施設分の候補について、既存の承認済み予約およびリクエスト内の他の予約との重複を確認する
+     * 既存の予約は候補全体の期間に対する1回の範囲検索で取得する
+     * 重複条件は予約の重複検索クエリと同じく境界値を含む
+     *
+     * @param facilityId 施設ID
+     * @param indexes    候補の位置
+     * @param candidates 作成候補の予約
+     * @param errors     作成できない理由（重複した候補に設定される）
+     */
+    private void checkConflicts(Long facilityId, List<Integer> indexes, Reservation[] candidates, String[] errors) {
+        LocalDateTime rangeStart = indexes.stream().map(i -> candidates[i].getStartTime()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime rangeEnd = indexes.stream().map(i -> candidates[i].getEndTime()).max(Comparator.naturalOrder()).orElseThrow();
+        List<Reservation> existing = reservationRepository.findOverlappingReservations(facilityId, rangeStart, rangeEnd);
+
+        List<Reservation> accepted = new ArrayList<>();
+        for (int i : indexes) {
+            Reservation candidate = candidates[i];
+            if (existing.stream().anyMatch(r -> overlaps(r, candidate))) {
+                errors[i] = SLOT_TAKEN;
+            } else if (accepted.stream().anyMatch(r -> overlaps(r, candidate))) {
+                errors[i] = "リクエスト内の他の予約と時間枠が重複しています";
+            } else {
+                accepted.add(candidate);
+            }
+        }
+    }
+
+    private static boolean overlaps(Reservation a, Reservation b) {
+        return !a.getStartTime().isAfter(b.getEndTime()) && !a.getEndTime().isBefore(b.getStartTime());
+    }
+
+    /**
+     * 予約ごとの作成結果を組み立てる
+     * 検証・重複チェックを通過した予約は、登録が行われた場合のみ作成済みとして扱う
+     */
+    private ReservationBatchResultDTO toResult(ReservationBatchDTO.Mode mode, List<ReservationCreateDTO> requests,
+                                               Reservation[] candidates, String[] errors, boolean committed) {
+        List<ReservationBatchResultDTO.Item> items = new ArrayList<>(requests.size());
+        int createdCount = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationCreateDTO request = requests.get(i);
+            Reservation candidate = candidates[i];
+            ReservationDTO reservation = null;
+            String error = errors[i];
+            if (candidate != null && error == null) {
+                if (committed) {
+                    reservation = ReservationDTO.fromEntity(candidate);
+                    createdCount++;
+                } else {
+                    error = "他の予約が作成できなかったため作成されませんでした";
+                }
+            }
+            items.add(new ReservationBatchResultDTO.Item(
+                    i, request.getFacilityId(), request.getStartTime(), request.getEndTime(), reservation, error));
+        }
+
+        ReservationBatchResultDTO result = new ReservationBatchResultDTO();
+        result.setMode(mode);
+        result.setCreatedCount(createdCount);
+        result.setRejectedCount(requests.size() - createdCount);
+        result.setResults(items);
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.reservation.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 予約データのエクスポートを行うサービスインターフェース
+ * 予約を1件ずつ読み込みながら出力先へ書き込み、件数に関わらず一定のメモリで出力する
+ */
+public interface ReservationExportService {
+    /**
+     * すべての予約を指定された形式で出力する
+     *
+     * @param format 出力形式
+     * @param out    出力先（呼び出し元で閉じる）
+     * @throws IOException 出力先への書き込みに失敗した場合
+     */
+    void export(Format format, OutputStream out) throws IOException;
+
+    /**
+     * エクスポートの出力形式
+     * NDJSON: 1行に1件の予約をJSONで出力する
+     * CSV: ヘッダー行に続けて1行に1件の予約を出力する
+     */
+    enum Format {
+        NDJSON, CSV
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.reservation.service;
+
+import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.repository.ReservationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 予約データのエクスポートサービスの実装クラス
+ * リポジトリのStreamでカーソルから予約を少しずつ読み込み、1行ずつ変換して出力先へ書き込む
+ * 書き込み済みの予約は永続化コンテキストから切り離し、メモリに蓄積されないようにする
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationExportServiceImpl implements ReservationExportService {
+    /**
+     * 出力をフラッシュし、永続化コンテキストを空にする間隔（件数）
+     */
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private static final String CSV_HEADER = "id,facilityId,facilityName,userId,username,startTime,endTime,purpose,status";
+
+    /**
+     * 予約リポジトリ - 予約のストリーム取得に使用
+     */
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * 読み込んだ予約を切り離すためのエンティティマネージャー
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * NDJSON出力に使用するJSONマッパー（アプリケーション共通の設定を使用）
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * すべての予約を指定された形式で出力する
+     * PostgreSQLでカーソルによる分割取得を行うには、トランザクション内で読み込む必要がある
+     *
+     * @param format 出力形式
+     * @param out    出力先
+     * @throws IOException 出力先への書き込みに失敗した場合
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream out) throws IOException {
+        try (Stream<Reservation> reservations = reservationRepository.streamAllWithFacilityAndUser()) {
+            if (format == Format.CSV) {
+                writeCsv(reservations.iterator(), out);
+            } else {
+                writeNdjson(reservations.iterator(), out);
+            }
+        }
+    }
+
+    /**
+     * 予約を1行に1件のJSONとして書き込む
+     */
+    private void writeNdjson(Iterator<Reservation> reservations, OutputStream out) throws IOException {
+        // 出力先はレスポンスのストリームなので、書き込み終了時に閉じないようにする
+        int count = 0;
+        try (SequenceWriter writer = objectMapper.writerFor(ReservationDTO.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out)) {
+            while (reservations.hasNext()) {
+                Reservation reservation = reservations.next();
+                writer.write(ReservationDTO.fromEntity(reservation));
+                release(reservation, ++count, writer);
+            }
+        }
+        // 区切り文字は値の間にのみ出力されるため、最終行の改行を補う
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * 予約をヘッダー行付きのCSVとして書き込む
+     * Excelで文字化けしないよう、先頭にUTF-8のBOMを出力する
+     */
+    private void writeCsv(Iterator<Reservation> reservations, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        int count = 0;
+        while (reservations.hasNext()) {
+            Reservation reservation = reservations.next();
+            ReservationDTO dto = ReservationDTO.fromEntity(reservation);
+            writer.write(String.valueOf(dto.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(dto.getFacilityId()));
+            writer.write(',');
+            writer.write(csv(dto.getFacilityName()));
+            writer.write(',');
+            writer.write(String.valueOf(dto.getUserId()));
+            writer.write(',');
+            writer.write(csv(dto.getUsername()));
+            writer.write(',');
+            writer.write(String.valueOf(dto.getStartTime()));
+            writer.write(',');
+            writer.write(String.valueOf(dto.getEndTime()));
+            writer.write(',');
+            writer.write(csv(dto.getPurpose()));
+            writer.write(',');
+            writer.write(dto.getStatus().name());
+            writer.write("\r\n");
+            release(reservation, ++count, writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * 書き込み済みの予約を永続化コンテキストから切り離す
+     * 一定件数ごとに出力をフラッシュし、結合取得した施設・ユーザーも含めてコンテキストを空にする
+     */
+    private void release(Reservation reservation, int count, Flushable flushable) throws IOException {
+        entityManager.detach(reservation);
+        if (count % FLUSH_INTERVAL == 0) {
+            flushable.flush();
+            entityManager.clear();
+        }
+    }
+
+    /**
+     * CSVのフィールドをエスケープする（区切り文字・引用符・改行を含む場合は引用符で囲む）
+     * 表計算ソフトで数式として解釈される文字で始まる値は、先頭に「'」を付けて引用符で囲む
+     */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && isFormulaPrefix(value.charAt(0))) {
+            return "\"'" + value.replace("\"", "\"\"") + '"';
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * 数式インジェクションの起点となる先頭文字か判定する
+     */
+    private static boolean isFormulaPrefix(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
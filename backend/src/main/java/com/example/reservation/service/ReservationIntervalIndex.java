@@ -0,0 +1,269 @@
+package com.example.reservation.service;
+
+import com.example.reservation.event.ReservationChangedEvent;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 施設ごとの承認済み予約の時間帯をメモリ上に保持するインターバル索引
+ * 時間枠の重複判定をデータベースへ問い合わせることなくO(log n)で行う
+ * <p>
+ * 各施設の索引は初回参照時にデータベースから読み込まれ、以降は
+ * {@link ReservationChangedEvent} を受けて差分更新される
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationIntervalIndex {
+    /**
+     * 索引の初回読み込みに使用する予約リポジトリ
+     */
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * 施設IDごとの索引
+     */
+    private final ConcurrentMap<Long, FacilityIntervals> facilities = new ConcurrentHashMap<>();
+
+    /**
+     * 指定された時間枠と重複する承認済み予約が存在するかを判定する
+     * 重複条件はリポジトリの重複検索クエリと同じく、境界値を含む
+     * （既存の開始時間 &lt;= 終了時間 かつ 既存の終了時間 &gt;= 開始時間）
+     *
+     * @param facilityId           施設ID
+     * @param startTime            開始時間
+     * @param endTime              終了時間
+     * @param excludeReservationId 判定から除外する予約ID（nullの場合は除外なし）
+     * @return 重複する予約が存在する場合はtrue
+     */
+    public boolean hasOverlap(Long facilityId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        return intervalsOf(facilityId).overlaps(toKey(startTime), toKey(endTime), excludeReservationId);
+    }
+
+    /**
+     * 予約変更イベントを索引に反映する
+     * まだ読み込まれていない施設は、初回参照時に最新の状態が読み込まれるため何もしない
+     *
+     * @param event 予約変更イベント
+     */
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        FacilityIntervals intervals = facilities.get(event.facilityId());
+        if (intervals == null) {
+            return;
+        }
+        if (event.isApprovedAfter()) {
+            intervals.upsert(event.reservationId(), toKey(event.startTime()), toKey(event.endTime()));
+        } else {
+            intervals.remove(event.reservationId());
+        }
+    }
+
+    /**
+     * 指定された施設の索引を破棄する
+     * 次回参照時にデータベースから再読み込みされる
+     *
+     * @param facilityId 施設ID
+     */
+    public void invalidate(Long facilityId) {
+        facilities.remove(facilityId);
+    }
+
+    /**
+     * 施設の索引を取得する（未読み込みの場合はデータベースから読み込む）
+     *
+     * @param facilityId 施設ID
+     * @return 施設の索引
+     */
+    private FacilityIntervals intervalsOf(Long facilityId) {
+        FacilityIntervals intervals = facilities.computeIfAbsent(facilityId, id -> new FacilityIntervals());
+        intervals.loadIfNecessary(facilityId);
+        return intervals;
+    }
+
+    /**
+     * 日時を大小比較可能なlong値に変換する（エポック秒 × 10^9 + ナノ秒）
+     *
+     * @param dateTime 変換する日時
+     * @return 比較用のキー
+     */
+    private static long toKey(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    /**
+     * 1施設分の承認済み予約を開始時間順に並べた配列群
+     * 読み取りは不変スナップショットをロックなしで参照し、更新は施設単位で排他的に行う
+     */
+    private final class FacilityIntervals {
+        private volatile Snapshot snapshot;
+
+        /**
+         * 未読み込みであればデータベースから承認済み予約を読み込む
+         *
+         * @param facilityId 施設ID
+         */
+        void loadIfNecessary(Long facilityId) {
+            if (snapshot != null) {
+                return;
+            }
+            synchronized (this) {
+                if (snapshot == null) {
+                    List<Reservation> approved = reservationRepository.findByFacilityIdAndStatus(
+                            facilityId, Reservation.ReservationStatus.APPROVED);
+                    long[] ids = new long[approved.size()];
+                    long[] starts = new long[approved.size()];
+                    long[] ends = new long[approved.size()];
+                    for (int i = 0; i < approved.size(); i++) {
+                        Reservation reservation = approved.get(i);
+                        ids[i] = reservation.getId();
+                        starts[i] = toKey(reservation.getStartTime());
+                        ends[i] = toKey(reservation.getEndTime());
+                    }
+                    snapshot = Snapshot.sorted(ids, starts, ends);
+                }
+            }
+        }
+
+        boolean overlaps(long start, long end, Long excludeReservationId) {
+            return snapshot.overlaps(start, end, excludeReservationId);
+        }
+
+        synchronized void upsert(long id, long start, long end) {
+            if (snapshot != null) {
+                snapshot = snapshot.without(id).with(id, start, end);
+            }
+        }
+
+        synchronized void remove(long id) {
+            if (snapshot != null) {
+                snapshot = snapshot.without(id);
+            }
+        }
+    }
+
+    /**
+     * 開始時間でソートされた予約配列と、先頭からの終了時間の累積最大値
+     * 累積最大値により「開始 &lt;= q終了 の予約のうち終了 &gt;= q開始 のものがあるか」を二分探索1回で判定できる
+     *
+     * @param ids         予約ID
+     * @param starts      開始時間キー（昇順）
+     * @param ends        終了時間キー
+     * @param prefixMaxEnds 先頭からi番目までの終了時間キーの最大値
+     */
+    private record Snapshot(long[] ids, long[] starts, long[] ends, long[] prefixMaxEnds) {
+
+        static Snapshot sorted(long[] ids, long[] starts, long[] ends) {
+            Integer[] order = new Integer[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+            long[] sortedIds = new long[ids.length];
+            long[] sortedStarts = new long[ids.length];
+            long[] sortedEnds = new long[ids.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedStarts[i] = starts[order[i]];
+                sortedEnds[i] = ends[order[i]];
+            }
+            return new Snapshot(sortedIds, sortedStarts, sortedEnds, prefixMax(sortedEnds));
+        }
+
+        private static long[] prefixMax(long[] ends) {
+            long[] prefixMaxEnds = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                prefixMaxEnds[i] = max;
+            }
+            return prefixMaxEnds;
+        }
+
+        boolean overlaps(long start, long end, Long excludeReservationId) {
+            // 開始時間が終了時間以下である最後の予約の位置
+            int last = upperBound(end) - 1;
+            if (last < 0) {
+                return false;
+            }
+            if (excludeReservationId == null) {
+                return prefixMaxEnds[last] >= start;
+            }
+            // 除外IDがある場合は、累積最大値が開始時間以上である範囲だけを後ろから確認する
+            for (int i = last; i >= 0 && prefixMaxEnds[i] >= start; i--) {
+                if (ends[i] >= start && ids[i] != excludeReservationId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Snapshot with(long id, long start, long end) {
+            int position = upperBound(start);
+            int size = ids.length;
+            long[] newIds = new long[size + 1];
+            long[] newStarts = new long[size + 1];
+            long[] newEnds = new long[size + 1];
+            System.arraycopy(ids, 0, newIds, 0, position);
+            System.arraycopy(starts, 0, newStarts, 0, position);
+            System.arraycopy(ends, 0, newEnds, 0, position);
+            newIds[position] = id;
+            newStarts[position] = start;
+            newEnds[position] = end;
+            System.arraycopy(ids, position, newIds, position + 1, size - position);
+            System.arraycopy(starts, position, newStarts, position + 1, size - position);
+            System.arraycopy(ends, position, newEnds, position + 1, size - position);
+            return new Snapshot(newIds, newStarts, newEnds, prefixMax(newEnds));
+        }
+
+        Snapshot without(long id) {
+            int position = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    position = i;
+                    break;
+                }
+            }
+            if (position < 0) {
+                return this;
+            }
+            int size = ids.length;
+            long[] newIds = new long[size - 1];
+            long[] newStarts = new long[size - 1];
+            long[] newEnds = new long[size - 1];
+            System.arraycopy(ids, 0, newIds, 0, position);
+            System.arraycopy(starts, 0, newStarts, 0, position);
+            System.arraycopy(ends, 0, newEnds, 0, position);
+            System.arraycopy(ids, position + 1, newIds, position, size - position - 1);
+            System.arraycopy(starts, position + 1, newStarts, position, size - position - 1);
+            System.arraycopy(ends, position + 1, newEnds, position, size - position - 1);
+            return new Snapshot(newIds, newStarts, newEnds, prefixMax(newEnds));
+        }
+
+        /**
+         * 開始時間キーが指定値より大きい最初の位置を返す
+         */
+        private int upperBound(long key) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
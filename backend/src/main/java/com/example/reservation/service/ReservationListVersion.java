@@ -0,0 +1,50 @@
+package com.example.reservation.service;
+
+import com.example.reservation.repository.ReservationRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 予約一覧の検証子
+ * 一覧の件数と最終更新日時から、条件付きGETで使用するETagを求める
+ * <p>
+ * 予約の追加・更新は最終更新日時を進め、削除や期間外への移動は件数を変えるため、
+ * 一覧の内容が変わればいずれかの値が変化する。
+ * 削除は最終更新日時に現れず、HTTPの日時は秒単位のため、Last-Modifiedには使用しない
+ *
+ * @param count        一覧の件数
+ * @param lastModified 一覧に含まれる予約・施設・ユーザーの最終更新日時（一覧が空の場合はnull）
+ */
+public record ReservationListVersion(long count, LocalDateTime lastModified) {
+
+    /**
+     * リポジトリの集計結果から検証子を作成する
+     *
+     * @param version 一覧の件数と最終更新日時
+     * @return 予約一覧の検証子
+     */
+    public static ReservationListVersion of(ReservationRepository.ListVersion version) {
+        LocalDateTime lastModified = Stream.of(
+                        version.getReservationUpdatedAt(), version.getFacilityUpdatedAt(), version.getUserUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new ReservationListVersion(version.getCount(), lastModified);
+    }
+
+    /**
+     * 件数と最終更新日時（ナノ秒単位）から求めたETag
+     */
+    public String etag() {
+        long nanos = 0;
+        if (lastModified != null) {
+            Instant instant = lastModified.atZone(ZoneId.systemDefault()).toInstant();
+            nanos = instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        }
+        return "\"" + count + "-" + Long.toHexString(nanos) + "\"";
+    }
+}
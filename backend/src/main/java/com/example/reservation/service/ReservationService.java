@@ -2,6 +2,8 @@ package com.example.reservation.service;
 
 import com.example.reservation.model.dto.ReservationCreateDTO;
 import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.dto.ReservationPageDTO;
+import com.example.reservation.model.dto.ReservationSearchDTO;
 import com.example.reservation.model.entity.Reservation;
 
 import java.time.LocalDateTime;
@@ -56,6 +58,33 @@ public interface ReservationService {
      */
     List<ReservationDTO> findByStatus(Reservation.ReservationStatus status);
 
+    /**
+     * 施設IDによる予約一覧の検証子の取得
+     * 一覧そのものを取得せずに、件数と最終更新日時のみを集計する
+     *
+     * @param facilityId 施設ID
+     * @return 予約一覧の検証子
+     */
+    ReservationListVersion getListVersionByFacilityId(Long facilityId);
+
+    /**
+     * ユーザーIDによる予約一覧の検証子の取得
+     * 一覧そのものを取得せずに、件数と最終更新日時のみを集計する
+     *
+     * @param userId ユーザーID
+     * @return 予約一覧の検証子
+     */
+    ReservationListVersion getListVersionByUserId(Long userId);
+
+    /**
+     * 予約状態による予約一覧の検証子の取得
+     * 一覧そのものを取得せずに、件数と最終更新日時のみを集計する
+     *
+     * @param status 予約状態
+     * @return 予約一覧の検証子
+     */
+    ReservationListVersion getListVersionByStatus(Reservation.ReservationStatus status);
+
     /**
      * 予約情報の新規作成
      * 指定された予約作成DTOとユーザーIDを使用して新しい予約を作成する
@@ -76,6 +105,17 @@ public interface ReservationService {
      */
     ReservationDTO updateStatus(Long id, Reservation.ReservationStatus status);
 
+    /**
+     * 予約一覧のページ取得
+     * 絞り込み条件に一致する予約を (開始時間, ID) の昇順で、カーソルの次から1ページ分取得する
+     *
+     * @param search 絞り込み条件
+     * @param cursor 前のページで返されたカーソル（nullの場合は先頭ページ）
+     * @param size   ページサイズ（nullの場合は既定値）
+     * @return 予約のページ（次のページがある場合はカーソルを含む）
+     */
+    ReservationPageDTO findPage(ReservationSearchDTO search, String cursor, Integer size);
+
     /**
      * 予約時間枠の利用可能性確認
      * 指定された施設、時間枠が予約可能かどうかを確認する
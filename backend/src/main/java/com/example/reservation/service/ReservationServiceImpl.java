@@ -1,9 +1,13 @@
 package com.example.reservation.service;
 
+import com.example.reservation.config.ReservationProperties;
+import com.example.reservation.event.ReservationChangedEvent;
 import com.example.reservation.exception.IllegalOperationException;
 import com.example.reservation.exception.ResourceNotFoundException;
 import com.example.reservation.model.dto.ReservationCreateDTO;
 import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.model.dto.ReservationPageDTO;
+import com.example.reservation.model.dto.ReservationSearchDTO;
 import com.example.reservation.model.entity.Facility;
 import com.example.reservation.model.entity.Reservation;
 import com.example.reservation.model.entity.User;
@@ -11,11 +15,16 @@ import com.example.reservation.repository.FacilityRepository;
 import com.example.reservation.repository.ReservationRepository;
 import com.example.reservation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 予約サービスの実装クラス
@@ -24,6 +33,11 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor  // Lombokによる依存性注入用コンストラクタ自動生成
 public class ReservationServiceImpl implements ReservationService {
+    /**
+     * PostgreSQLの排他制約違反（exclusion_violation）を表すSQLSTATE
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     /**
      * 予約リポジトリ - 予約データへのアクセスを提供
      */
@@ -39,6 +53,26 @@ public class ReservationServiceImpl implements ReservationService {
      */
     private final FacilityRepository facilityRepository;
 
+    /**
+     * 施設ごとの承認済み予約を保持するインターバル索引 - DBアクセスなしで重複判定を行う
+     */
+    private final ReservationIntervalIndex reservationIntervalIndex;
+
+    /**
+     * 予約機能の設定 - インターバル索引を使用するかどうかなど
+     */
+    private final ReservationProperties reservationProperties;
+
+    /**
+     * 予約変更イベントの発行者 - 索引やキャッシュへ変更を通知する
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 施設単位のストライプロック - 同一施設への重複チェックと保存を直列化する
+     */
+    private final FacilityLockManager facilityLockManager;
+
     /**
      * IDによる予約情報の検索
      *
@@ -48,9 +82,8 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public ReservationDTO findById(Long id) {
-        Reservation reservation = reservationRepository.findByIdWithFacilityAndUser(id)
+        return reservationRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("予約が見つかりませんでした: " + id));
-        return ReservationDTO.fromEntity(reservation);
     }
 
     /**
@@ -60,9 +93,7 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public List<ReservationDTO> findAll() {
-        return reservationRepository.findAllWithFacilityAndUser().stream()
-                .map(ReservationDTO::fromEntity)  // エンティティからDTOへの変換
-                .collect(Collectors.toList());
+        return reservationRepository.findAllDtos();
     }
 
     /**
@@ -73,9 +104,7 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public List<ReservationDTO> findByFacilityId(Long facilityId) {
-        return reservationRepository.findByFacilityIdWithFacilityAndUser(facilityId).stream()
-                .map(ReservationDTO::fromEntity)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByFacilityId(facilityId);
     }
 
     /**
@@ -86,9 +115,7 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public List<ReservationDTO> findByUserId(Long userId) {
-        return reservationRepository.findByUserIdWithFacilityAndUser(userId).stream()
-                .map(ReservationDTO::fromEntity)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByUserId(userId);
     }
 
     /**
@@ -100,9 +127,87 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public List<ReservationDTO> findByStatus(Reservation.ReservationStatus status) {
-        return reservationRepository.findByStatusAndStartTimeAfter(status, LocalDateTime.now()).stream()
-                .map(ReservationDTO::fromEntity)
-                .collect(Collectors.toList());
+        return reservationRepository.findDtosByStatusAndStartTimeAfter(status, LocalDateTime.now());
+    }
+
+    /**
+     * 施設IDによる予約一覧の検証子の取得
+     *
+     * @param facilityId 施設ID
+     * @return 指定された施設の予約一覧の検証子
+     */
+    @Override
+    public ReservationListVersion getListVersionByFacilityId(Long facilityId) {
+        return ReservationListVersion.of(reservationRepository.findListVersionByFacilityId(facilityId));
+    }
+
+    /**
+     * ユーザーIDによる予約一覧の検証子の取得
+     *
+     * @param userId ユーザーID
+     * @return 指定されたユーザーの予約一覧の検証子
+     */
+    @Override
+    public ReservationListVersion getListVersionByUserId(Long userId) {
+        return ReservationListVersion.of(reservationRepository.findListVersionByUserId(userId));
+    }
+
+    /**
+     * 予約ステータスによる予約一覧の検証子の取得
+     * {@link #findByStatus} と同じく現在時刻以降の予約のみ対象
+     *
+     * @param status 検索対象のステータス
+     * @return 指定されたステータスの予約一覧の検証子
+     */
+    @Override
+    public ReservationListVersion getListVersionByStatus(Reservation.ReservationStatus status) {
+        return ReservationListVersion.of(
+                reservationRepository.findListVersionByStatusAndStartTimeAfter(status, LocalDateTime.now()));
+    }
+
+    /**
+     * 予約一覧のページ取得
+     * 1件多く取得して次のページの有無を判定し、ページ最後の予約の (開始時間, ID) をカーソルとして返す
+     *
+     * @param search 絞り込み条件
+     * @param cursor 前のページで返されたカーソル（nullの場合は先頭ページ）
+     * @param size   ページサイズ（nullの場合は既定値）
+     * @return 予約のページ
+     * @throws IllegalArgumentException ページサイズまたはカーソルが不正な場合
+     */
+    @Override
+    public ReservationPageDTO findPage(ReservationSearchDTO search, String cursor, Integer size) {
+        ReservationProperties.Pagination pagination = reservationProperties.getPagination();
+        int pageSize = size != null ? size : pagination.getDefaultSize();
+        if (pageSize < 1 || pageSize > pagination.getMaxSize()) {
+            throw new IllegalArgumentException("ページサイズは1以上" + pagination.getMaxSize() + "以下である必要があります");
+        }
+
+        LocalDateTime cursorStartTime = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            // カーソルは「開始時間|ID」をBase64URLでエンコードした文字列
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                cursorStartTime = LocalDateTime.parse(decoded.substring(0, separator));
+                cursorId = Long.parseLong(decoded.substring(separator + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("カーソルの形式が正しくありません");
+            }
+        }
+
+        List<ReservationDTO> reservations = reservationRepository.findPageAfter(search, cursorStartTime, cursorId, pageSize + 1);
+        boolean hasNext = reservations.size() > pageSize;
+        List<ReservationDTO> page = hasNext ? reservations.subList(0, pageSize) : reservations;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ReservationDTO last = page.get(page.size() - 1);
+            String raw = last.getStartTime() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ReservationPageDTO(List.copyOf(page), nextCursor);
     }
 
     /**
@@ -135,11 +240,6 @@ public class ReservationServiceImpl implements ReservationService {
             throw new IllegalArgumentException("過去の時間に予約を作成することはできません");
         }
 
-        // 指定された時間枠が利用可能か確認
-        if (!isTimeSlotAvailable(createDTO.getFacilityId(), createDTO.getStartTime(), createDTO.getEndTime(), null)) {
-            throw new IllegalOperationException("指定された時間枠は既に予約されています");
-        }
-
         // 予約エンティティの作成と設定
         Reservation reservation = new Reservation();
         reservation.setFacility(facility);
@@ -149,8 +249,18 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setPurpose(createDTO.getPurpose());
         reservation.setStatus(Reservation.ReservationStatus.PENDING);  // 初期ステータスは承認待ち
 
-        // 予約を保存し、DTOに変換して返す
-        Reservation savedReservation = reservationRepository.save(reservation);
+        // 重複チェックから保存までを施設ロック内で行い、同一時間枠への同時予約がどちらも通過しないようにする
+        Reservation savedReservation = facilityLockManager.withFacilityLock(facility.getId(), () -> {
+            // 指定された時間枠が利用可能か確認
+            if (!isTimeSlotAvailable(createDTO.getFacilityId(), createDTO.getStartTime(), createDTO.getEndTime(), null)) {
+                throw new IllegalOperationException("指定された時間枠は既に予約されています");
+            }
+
+            // 予約を保存し、ロックを保持したまま変更を通知する
+            Reservation saved = reservationRepository.save(reservation);
+            eventPublisher.publishEvent(ReservationChangedEvent.created(saved));
+            return saved;
+        });
         return ReservationDTO.fromEntity(savedReservation);
     }
 
@@ -161,20 +271,42 @@ public class ReservationServiceImpl implements ReservationService {
      * @param status 新しい予約ステータス
      * @return 更新された予約のDTOオブジェクト
      * @throws ResourceNotFoundException 予約が見つからない場合
+     * @throws IllegalOperationException 承認により同一施設の承認済み予約と時間枠が重複する場合
      */
     @Override
     public ReservationDTO updateStatus(Long id, Reservation.ReservationStatus status) {
         Reservation reservation = reservationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("予約が見つかりませんでした: " + id));
 
-        // ステータスを更新
-        reservation.setStatus(status);
-        Reservation updatedReservation = reservationRepository.save(reservation);
+        // ステータスを更新（承認済みの集合が変わるため施設ロック内で行う）
+        Reservation updatedReservation = facilityLockManager.withFacilityLock(reservation.getFacility().getId(), () -> {
+            Reservation.ReservationStatus previousStatus = reservation.getStatus();
+            // 時間枠を占有するのは承認済みの予約のみのため、承認時に重複を確認する
+            // （同一施設の承認は施設ロックで直列化され、データベースの排他制約は最後の防御となる）
+            if (status == Reservation.ReservationStatus.APPROVED && previousStatus != Reservation.ReservationStatus.APPROVED
+                    && !isTimeSlotAvailable(reservation.getFacility().getId(), reservation.getStartTime(), reservation.getEndTime(), id)) {
+                throw new IllegalOperationException("指定された時間枠は既に予約されています");
+            }
+            reservation.setStatus(status);
+            Reservation updated;
+            try {
+                updated = reservationRepository.save(reservation);
+            } catch (DataIntegrityViolationException e) {
+                // 承認済み予約の重複はデータベースの排他制約で拒否される
+                if (isOverlapViolation(e)) {
+                    throw new IllegalOperationException("指定された時間枠は既に予約されています");
+                }
+                throw e;
+            }
+            eventPublisher.publishEvent(ReservationChangedEvent.statusChanged(updated, previousStatus));
+            return updated;
+        });
         return ReservationDTO.fromEntity(updatedReservation);
     }
 
     /**
      * 指定された時間枠が予約可能かどうかをチェック
+     * インターバル索引が有効な場合はメモリ上の索引で判定し、無効な場合はリポジトリのクエリで判定する
      *
      * @param facilityId           施設ID
      * @param startTime            開始時間
@@ -184,6 +316,11 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public boolean isTimeSlotAvailable(Long facilityId, LocalDateTime startTime, LocalDateTime endTime, Long excludeReservationId) {
+        // インターバル索引による判定（DBアクセスなし）
+        if (reservationProperties.getIntervalIndex().isEnabled()) {
+            return !reservationIntervalIndex.hasOverlap(facilityId, startTime, endTime, excludeReservationId);
+        }
+
         // 重複する予約を検索
         List<Reservation> overlappingReservations = reservationRepository.findOverlappingReservations(facilityId, startTime, endTime);
 
@@ -206,9 +343,28 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public void delete(Long id) {
-        if (!reservationRepository.existsById(id)) {
-            throw new ResourceNotFoundException("予約が見つかりませんでした: " + id);
+        Reservation reservation = reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("予約が見つかりませんでした: " + id));
+        facilityLockManager.withFacilityLock(reservation.getFacility().getId(), () -> {
+            reservationRepository.delete(reservation);
+            eventPublisher.publishEvent(ReservationChangedEvent.deleted(reservation));
+            return null;
+        });
+    }
+
+    /**
+     * 例外が予約時間帯の排他制約（reservations_no_overlap）違反によるものかを判定する
+     *
+     * @param e データ整合性違反の例外
+     * @return 排他制約違反の場合はtrue
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
         }
-        reservationRepository.deleteById(id);
+        return false;
     }
-}
\ No newline at end of file
+}
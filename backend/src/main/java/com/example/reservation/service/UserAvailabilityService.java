@@ -0,0 +1,19 @@
+package com.example.reservation.service;
+
+import com.example.reservation.model.dto.UserAvailabilityDTO;
+
+/**
+ * ユーザー名・メールアドレスの使用可否を確認するサービスのインターフェース
+ * 登録フォームの入力中の確認など、頻繁な問い合わせに使用される
+ */
+public interface UserAvailabilityService {
+
+    /**
+     * ユーザー名・メールアドレスが使用可能かどうかを確認する
+     *
+     * @param username 確認するユーザー名（nullの場合は確認しない）
+     * @param email    確認するメールアドレス（nullの場合は確認しない）
+     * @return 使用可否
+     */
+    UserAvailabilityDTO check(String username, String email);
+}
@@ -0,0 +1,243 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.UserAvailabilityProperties;
+import com.example.reservation.event.UserChangedEvent;
+import com.example.reservation.model.dto.UserAvailabilityDTO;
+import com.example.reservation.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * ユーザー名・メールアドレスの使用可否を確認するサービスの実装クラス
+ * <p>
+ * 起動時にデータベースの全ユーザーからユーザー名用・メールアドレス用のブルームフィルターを構築し、
+ * 「確実に未使用」と判定できた場合はデータベースに問い合わせずに使用可能と答える。
+ * 「使用済みかもしれない」場合のみ existsByUsername / existsByEmail で確認する。
+ * ユーザーの登録・更新は {@link UserChangedEvent} でフィルターに追加し、削除されたユーザーは
+ * 一定件数ごとにフィルターを専用スレッドで再構築して取り除く（削除したリクエストのスレッドでは待たない）
+ * <p>
+ * メモリ使用量・偽陽性率の見積もり・判定結果はメトリクスとして公開される
+ * （user.availability.bloom.*、user.availability.checks、タグ field, result）
+ */
+@Slf4j
+@Service
+public class UserAvailabilityServiceImpl implements UserAvailabilityService, DisposableBean {
+    /**
+     * ユーザーリポジトリ - フィルターの構築と「使用済みかもしれない」場合の確認に使用
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * ブルームフィルターの設定
+     */
+    private final UserAvailabilityProperties properties;
+
+    /**
+     * メトリクスの登録先
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 現在のフィルターと構築中のフィルターの組
+     * 登録されたユーザーを両方に漏れなく追加できるよう、1つの参照としてまとめて読み書きする
+     */
+    private volatile State state = new State(null, null);
+
+    /**
+     * 削除後の再構築を実行する専用スレッド
+     * 実行中の再構築のほかに1件だけ待機させ、それ以上の要求は待機中の再構築にまとめる
+     */
+    private final ThreadPoolExecutor rebuildExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "user-availability-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    /**
+     * 前回の構築以降に削除されたユーザー数
+     */
+    private final AtomicInteger deletesSinceBuild = new AtomicInteger();
+
+    /**
+     * コンストラクタ - メトリクスを登録する
+     *
+     * @param userRepository ユーザーリポジトリ
+     * @param properties     ブルームフィルターの設定
+     * @param meterRegistry  メトリクスの登録先
+     */
+    public UserAvailabilityServiceImpl(UserRepository userRepository, UserAvailabilityProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        registerGauge("user.availability.bloom.bytes", "ブルームフィルターのメモリ使用量（バイト）",
+                f -> f.usernames.byteSize() + f.emails.byteSize());
+        registerGauge("user.availability.bloom.insertions", "ブルームフィルターに登録した要素数",
+                f -> f.usernames.insertions() + f.emails.insertions());
+        registerGauge("user.availability.bloom.false_positive_rate", "ブルームフィルターの偽陽性率の見積もり（ユーザー名・メールアドレスの大きい方）",
+                f -> Math.max(f.usernames.expectedFalsePositiveRate(), f.emails.expectedFalsePositiveRate()));
+    }
+
+    /**
+     * ユーザー名・メールアドレスが使用可能かどうかを確認する
+     *
+     * @param username 確認するユーザー名（nullの場合は確認しない）
+     * @param email    確認するメールアドレス（nullの場合は確認しない）
+     * @return 使用可否
+     */
+    @Override
+    public UserAvailabilityDTO check(String username, String email) {
+        Filters current = state.current();
+        Boolean usernameAvailable = username != null
+                ? isAvailable("username", username, current != null ? current.usernames : null, userRepository::existsByUsername)
+                : null;
+        Boolean emailAvailable = email != null
+                ? isAvailable("email", email, current != null ? current.emails : null, userRepository::existsByEmail)
+                : null;
+        return new UserAvailabilityDTO(usernameAvailable, emailAvailable);
+    }
+
+    /**
+     * アプリケーションの起動完了後にフィルターを構築する
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * ユーザーの登録・更新・削除をフィルターに反映する
+     * トランザクション内で発行された場合はコミット後に、トランザクション外の場合は即座に処理される
+     *
+     * @param event ユーザー変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.deleted()) {
+            // 削除されたユーザーのビットは消せないため、一定件数ごとに専用スレッドで再構築する
+            if (deletesSinceBuild.incrementAndGet() >= properties.getRebuildAfterDeletes()) {
+                rebuildExecutor.execute(() -> {
+                    try {
+                        rebuild();
+                    } catch (RuntimeException e) {
+                        // 再構築に失敗しても現在のフィルターは使い続けられる（偽陽性が増えるだけ）
+                        log.warn("ユーザー名・メールアドレスのブルームフィルターの再構築に失敗しました", e);
+                    }
+                });
+            }
+            return;
+        }
+        // 現在のフィルターと構築中のフィルターは同じ時点のものを使う
+        // （別々に読むと、その間に再構築が完了した場合にどちらの新しいフィルターにも追加されない）
+        State current = state;
+        for (Filters target : new Filters[]{current.current(), current.building()}) {
+            if (target != null) {
+                target.put(event.username(), event.email());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * データベースの全ユーザーからフィルターを構築し、現在のフィルターと置き換える
+     * 構築中に登録・更新されたユーザーは構築中のフィルターにも追加される
+     */
+    synchronized void rebuild() {
+        Filters next = new Filters(
+                new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate()),
+                new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate()));
+        state = new State(state.current(), next);
+        deletesSinceBuild.set(0);
+        List<UserRepository.UsernameAndEmail> users;
+        try {
+            users = userRepository.findAllUsernamesAndEmails();
+        } catch (RuntimeException e) {
+            state = new State(state.current(), null);
+            throw e;
+        }
+        users.forEach(user -> next.put(user.getUsername(), user.getEmail()));
+        state = new State(next, null);
+        log.info("ユーザー名・メールアドレスのブルームフィルターを構築しました（{}件、{}バイト、ハッシュ関数{}個）",
+                users.size(), next.usernames.byteSize() + next.emails.byteSize(), next.usernames.hashCount());
+    }
+
+    /**
+     * フィルターで「確実に未使用」と判定できればそのまま、そうでなければデータベースで確認する
+     */
+    private boolean isAvailable(String field, String value, BloomFilter filter, Predicate<String> exists) {
+        if (filter != null && !filter.mightContain(value)) {
+            count(field, "filtered");
+            return true;
+        }
+        boolean taken = exists.test(value);
+        // フィルターで判定できなかったが未使用だった場合は偽陽性（フィルター構築前・無効時を除く）
+        count(field, filter == null ? "unfiltered" : taken ? "taken" : "false_positive");
+        return !taken;
+    }
+
+    private void count(String field, String result) {
+        Counter.builder("user.availability.checks")
+                .description("ユーザー名・メールアドレスの使用可否の確認件数")
+                .tag("field", field)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void registerGauge(String name, String description, ToDoubleFunction<Filters> value) {
+        Gauge.builder(name, this, service -> {
+                    Filters current = service.state.current();
+                    return current != null ? value.applyAsDouble(current) : 0;
+                })
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 現在のフィルター（構築前はnull）と、再構築中に登録されたユーザーも反映するための構築中のフィルター（構築中以外はnull）
+     */
+    private record State(Filters current, Filters building) {
+    }
+
+    /**
+     * ユーザー名用・メールアドレス用のフィルターの組
+     */
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        void put(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
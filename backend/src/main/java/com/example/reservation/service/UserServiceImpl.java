@@ -1,5 +1,6 @@
 package com.example.reservation.service;
 
+import com.example.reservation.event.UserChangedEvent;
 import com.example.reservation.exception.DuplicateUserException;
 import com.example.reservation.exception.IllegalOperationException;
 import com.example.reservation.exception.ResourceNotFoundException;
@@ -9,8 +10,13 @@ import com.example.reservation.model.dto.UserDTO;
 import com.example.reservation.model.dto.UserRegistrationDTO;
 import com.example.reservation.model.entity.User;
 import com.example.reservation.repository.UserRepository;
+import com.example.reservation.security.TokenVersionService;
+import com.example.reservation.security.UserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +26,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * ユーザー関連のビジネスロジックを実装するサービスクラス
@@ -29,6 +38,11 @@ import java.util.List;
 @Service  // Springのサービスコンポーネントとして登録
 @RequiredArgsConstructor  // Lombokによる必須フィールドを引数とするコンストラクタを自動生成
 public class UserServiceImpl implements UserService {
+    /**
+     * PostgreSQLの一意制約違反のメッセージに含まれる違反した列（例: Key (username)=(...) already exists）
+     */
+    private static final Pattern VIOLATED_KEY_PATTERN = Pattern.compile("Key \\((\\w+)\\)=", Pattern.CASE_INSENSITIVE);
+
     /**
      * ユーザー情報のデータアクセスを担当するリポジトリ
      * コンストラクタインジェクションにより注入される
@@ -52,6 +66,22 @@ public class UserServiceImpl implements UserService {
      */
     private final FileUploadService fileUploadService;
 
+    /**
+     * トークンバージョンを管理するサービス
+     * パスワード変更やユーザー削除の際に、発行済みのトークンを失効させる
+     */
+    private final TokenVersionService tokenVersionService;
+
+    /**
+     * ユーザー名をキーとしたユーザー情報のキャッシュ
+     */
+    private final UserCache userCache;
+
+    /**
+     * ユーザー変更イベントの発行者 - ユーザー情報のキャッシュを無効化する
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * 指定されたIDのユーザー情報をDTOとして取得する
      *
@@ -78,7 +108,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDTO findByUsername(String username) {
         // リポジトリからユーザー名でユーザーを検索し、存在しない場合は例外をスロー
-        User user = userRepository.findByUsername(username)
+        User user = userCache.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("ユーザが見つかりません。"));
         // エンティティをDTOに変換して返却
         return UserDTO.fromEntity(user);
@@ -99,16 +129,18 @@ public class UserServiceImpl implements UserService {
 
     /**
      * 新規ユーザーを登録する
+     * ユーザー名・メールアドレスの重複は事前に問い合わせず、テーブルの一意制約に任せて1回のINSERTで登録する
+     * パスワードのハッシュ化はトランザクションの外で行い、コネクションを保持する時間を短くする
      *
      * @param registrationDTO ユーザー登録情報を含むDTO
      * @return 登録されたユーザー情報DTO
-     * @throws IllegalArgumentException ユーザー名またはメールアドレスが既に使用されている場合
+     * @throws DuplicateUserException    ユーザー名またはメールアドレスが既に使用されている場合
+     * @throws IllegalArgumentException パスワードが要件を満たさない場合
      */
     @Override
-    @Transactional  // トランザクション管理を有効化
     public UserDTO register(UserRegistrationDTO registrationDTO) {
-        // バリデーションサービスを使用してビジネスルールを検証
-        userValidationService.validateUserRegistration(registrationDTO);
+        // パスワード強度の検証（データベースへの問い合わせは不要）
+        userValidationService.validatePasswordStrength(registrationDTO.getPassword());
 
         // 新規ユーザーエンティティの作成
         User user = new User();
@@ -119,10 +151,58 @@ public class UserServiceImpl implements UserService {
         // デフォルト権限は一般ユーザー
         user.setRole(User.Role.USER);
 
-        // ユーザーをデータベースに保存
-        User savedUser = userRepository.save(user);
-        // 保存されたエンティティをDTOに変換して返却
-        return UserDTO.fromEntity(savedUser);
+        // ユーザーをデータベースに保存（一意制約違反は重複エラーに変換）
+        try {
+            User savedUser = userRepository.saveAndFlush(user);
+            // ユーザー名・メールアドレスの使用状況に登録を通知
+            eventPublisher.publishEvent(UserChangedEvent.changed(savedUser));
+            // 保存されたエンティティをDTOに変換して返却
+            return UserDTO.fromEntity(savedUser);
+        } catch (DataIntegrityViolationException e) {
+            throw toDuplicateUserException(e, registrationDTO);
+        }
+    }
+
+    /**
+     * 一意制約違反の例外を、違反した列に応じたユーザー重複例外に変換する
+     *
+     * @param e               一意制約違反の例外
+     * @param registrationDTO ユーザー登録情報を含むDTO
+     * @return ユーザー重複例外
+     * @throws DataIntegrityViolationException ユーザー名・メールアドレス以外の制約違反の場合
+     */
+    private DuplicateUserException toDuplicateUserException(DataIntegrityViolationException e, UserRegistrationDTO registrationDTO) {
+        String column = violatedColumnOf(e);
+        if ("username".equals(column)) {
+            return DuplicateUserException.forUsername(registrationDTO.getUsername());
+        }
+        if ("email".equals(column)) {
+            return DuplicateUserException.forEmail(registrationDTO.getEmail());
+        }
+        throw e;
+    }
+
+    /**
+     * 一意制約違反の原因となった列を判定する
+     * 制約名（{@link User#USERNAME_CONSTRAINT}・{@link User#EMAIL_CONSTRAINT}）で判定し、
+     * 名前を付ける前に作成された制約の場合はPostgreSQLの「Key (列名)=(...)」から列名を読み取る
+     * （値に列名を含むメールアドレスなどで誤判定しないよう、メッセージ全体の部分一致では判定しない）
+     *
+     * @param e 一意制約違反の例外
+     * @return 列名（判定できない場合はnull）
+     */
+    private static String violatedColumnOf(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            String constraintName = violation.getConstraintName();
+            if (constraintName.equalsIgnoreCase(User.USERNAME_CONSTRAINT)) {
+                return "username";
+            }
+            if (constraintName.equalsIgnoreCase(User.EMAIL_CONSTRAINT)) {
+                return "email";
+            }
+        }
+        Matcher matcher = VIOLATED_KEY_PATTERN.matcher(String.valueOf(e.getMostSpecificCause().getMessage()));
+        return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
     }
 
     /**
@@ -137,8 +217,10 @@ public class UserServiceImpl implements UserService {
         if (!userRepository.existsById(id)) {
             throw new IllegalArgumentException("ユーザーが見つかりませんでした: " + id);
         }
-        // ユーザーを削除
+        // ユーザーを削除し、発行済みのトークンを失効させる
         userRepository.deleteById(id);
+        tokenVersionService.userDeleted(id);
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id));
     }
 
     /**
@@ -205,8 +287,9 @@ public class UserServiceImpl implements UserService {
             user.setPhoneNumber(profileUpdateDTO.getPhoneNumber());
         }
 
-        // 更新したユーザー情報を保存し、DTOに変換して返却
+        // 更新したユーザー情報を保存し、キャッシュの無効化を通知してDTOに変換して返却
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.changed(updatedUser));
         return UserDTO.fromEntity(updatedUser);
     }
 
@@ -240,8 +323,9 @@ public class UserServiceImpl implements UserService {
         String avatarPath = fileUploadService.uploadAvatar(avatarFile, userId);
         user.setAvatarPath(avatarPath);
 
-        // 更新したユーザー情報を保存し、DTOに変換して返却
+        // 更新したユーザー情報を保存し、キャッシュの無効化を通知してDTOに変換して返却
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.changed(updatedUser));
         return UserDTO.fromEntity(updatedUser);
     }
 
@@ -273,6 +357,10 @@ public class UserServiceImpl implements UserService {
         // 新しいパスワードをハッシュ化して保存
         String hashedNewPassword = passwordEncoder.encode(passwordChangeDTO.getNewPassword());
         user.setPasswordHash(hashedNewPassword);
+        // トークンバージョンを上げ、変更前に発行されたトークンを失効させる
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        tokenVersionService.versionChanged(userId, user.getTokenVersion());
+        eventPublisher.publishEvent(UserChangedEvent.changed(user));
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+-- 施設の絞り込み検索（FacilityRepositoryImpl.findByFilter）で使用するインデックスの定義
+-- Hibernate（ddl-auto: update）によるテーブル作成後に実行される（spring.jpa.defer-datasource-initialization）
+-- 何度実行しても同じ結果になるように記述すること
+
+-- 部分一致（LIKE '%x%'）をトライグラムのGINインデックスで検索するための拡張
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 施設名の部分一致検索用（クエリの lower(name) LIKE ... と同じ式でインデックスを作成する）
+-- pg_trgmは文字の種類をLC_CTYPEで判定するため、日本語を検索するにはデータベースのLC_CTYPEがUTF-8である必要がある
+-- （C / POSIXの場合は日本語からトライグラムが作られず、インデックス全体を走査して再チェックする）
+CREATE INDEX IF NOT EXISTS facilities_name_trgm_idx
+    ON facilities USING gin (lower(name) gin_trgm_ops);
+
+-- 収容人数の範囲検索・並び替え用
+CREATE INDEX IF NOT EXISTS facilities_capacity_idx
+    ON facilities (capacity, id);
@@ -0,0 +1,25 @@
+-- 承認済み予約の時間帯重複をデータベースで排除するための定義
+-- Hibernate（ddl-auto: update）によるテーブル作成後に実行される（spring.jpa.defer-datasource-initialization）
+-- 何度実行しても同じ結果になるように記述すること
+
+-- facility_id（bigint）をGiSTインデックスで等価比較するための拡張
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- 予約時間帯を表す範囲型の生成列
+-- 既存の重複判定（開始 <= 終了 かつ 終了 >= 開始）と同じく両端を含む範囲とする
+ALTER TABLE reservations
+    ADD COLUMN IF NOT EXISTS time_range tsrange
+        GENERATED ALWAYS AS (tsrange(start_time, end_time, '[]')) STORED;
+
+-- 同一施設の承認済み予約同士の時間帯重複を禁止する排他制約
+-- 制約のGiSTインデックスは (facility_id, time_range) の重複検索にもそのまま使用される
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'reservations_no_overlap') THEN
+        ALTER TABLE reservations
+            ADD CONSTRAINT reservations_no_overlap
+                EXCLUDE USING gist (facility_id WITH =, time_range WITH &&)
+                WHERE (status = 'APPROVED');
+    END IF;
+END
+$$;
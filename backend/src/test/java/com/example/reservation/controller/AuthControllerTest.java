@@ -0,0 +1,106 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.exception.GlobalExceptionHandler;
+import com.example.reservation.exception.ServerBusyException;
+import com.example.reservation.mapper.AuthMapper;
+import com.example.reservation.model.dto.AuthDTO;
+import com.example.reservation.security.JwtTokenUtil;
+import com.example.reservation.service.UserAvailabilityService;
+import com.example.reservation.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthControllerのテストクラス
+ * パスワードのハッシュ化・照合が混雑で拒否された場合、存在しないユーザー名のログインでも
+ * 500ではなくRetry-After付きの503として返すことを確認します
+ */
+@ExtendWith(MockitoExtension.class)
+public class AuthControllerTest {
+
+    private static final ServerBusyException BUSY = new ServerBusyException("混雑しています", Duration.ofSeconds(2));
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Mock
+    private AuthMapper authMapper;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    /**
+     * 存在しないユーザー名のログインで、タイミング攻撃対策の照合が混雑で拒否された場合に
+     * Retry-After付きの503になることを検証します
+     */
+    @Test
+    void authenticateUser_UnknownUserWhileHashingBusy_ServiceUnavailable() {
+        lenient().when(userDetailsService.loadUserByUsername("unknown")).thenThrow(new UsernameNotFoundException("unknown"));
+        // 照合用のダミーのハッシュの生成・照合のいずれで拒否されても同じ結果になる
+        when(passwordEncoder.encode(any())).thenThrow(BUSY);
+        lenient().when(passwordEncoder.matches(any(), anyString())).thenThrow(BUSY);
+
+        assertServiceUnavailable(authController());
+    }
+
+    /**
+     * ユーザーの読み込み中に発生した混雑による拒否（InternalAuthenticationServiceExceptionに包まれる）も
+     * 取り出され、Retry-After付きの503になることを検証します
+     */
+    @Test
+    void authenticateUser_WrappedServerBusy_ServiceUnavailable() {
+        when(userDetailsService.loadUserByUsername("unknown")).thenThrow(BUSY);
+        lenient().when(passwordEncoder.encode(any())).thenReturn("{noop}dummy");
+
+        assertServiceUnavailable(authController());
+    }
+
+    private AuthController authController() {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new AuthController(new ProviderManager(provider), userService,
+                userAvailabilityService, jwtTokenUtil, authMapper);
+    }
+
+    private static void assertServiceUnavailable(AuthController authController) {
+        AuthDTO.LoginRequest loginRequest = new AuthDTO.LoginRequest();
+        loginRequest.setUsername("unknown");
+        loginRequest.setPassword("password");
+
+        ServerBusyException exception = assertThrows(
+                ServerBusyException.class,
+                () -> authController.authenticateUser(loginRequest)
+        );
+
+        ResponseEntity<Map<String, String>> response = new GlobalExceptionHandler().handleServerBusyException(exception);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
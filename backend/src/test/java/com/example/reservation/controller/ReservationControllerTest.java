@@ -0,0 +1,83 @@
+package com.example.reservation.controller;
+
+import com.example.reservation.model.dto.ReservationDTO;
+import com.example.reservation.service.ReservationBatchService;
+import com.example.reservation.service.ReservationExportService;
+import com.example.reservation.service.ReservationListVersion;
+import com.example.reservation.service.ReservationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReservationControllerのテストクラス
+ * 予約一覧の条件付きGETが、一覧が変わらなければ304を、予約の削除後は200を返すことを確認します
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReservationControllerTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReservationBatchService reservationBatchService;
+
+    @Mock
+    private ReservationExportService reservationExportService;
+
+    @InjectMocks
+    private ReservationController reservationController;
+
+    /**
+     * 一覧が変わらない場合は一覧を取得せずに304を返し、削除で件数が変わった場合は
+     * 最終更新日時が同じでも200を返すことを検証します（Last-Modifiedは返さない）
+     */
+    @Test
+    void getReservationsByFacility_UnchangedThenDeleted_NotModifiedThenOk() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 10, 1, 9, 0, 0, 123_456_789);
+        when(reservationService.getListVersionByFacilityId(1L))
+                .thenReturn(new ReservationListVersion(3, updatedAt))
+                .thenReturn(new ReservationListVersion(3, updatedAt))
+                .thenReturn(new ReservationListVersion(2, updatedAt));
+        when(reservationService.findByFacilityId(1L)).thenReturn(List.of(new ReservationDTO()));
+
+        ResponseEntity<List<ReservationDTO>> first = reservationController.getReservationsByFacility(1L, request(null));
+        String etag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(etag);
+        assertNull(first.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+
+        // 変更なし - 一覧を取得せずに304
+        ResponseEntity<List<ReservationDTO>> unchanged = reservationController.getReservationsByFacility(1L, request(etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        verify(reservationService, times(1)).findByFacilityId(1L);
+
+        // 予約の削除 - 最終更新日時は変わらないが件数が変わるため200
+        ResponseEntity<List<ReservationDTO>> deleted = reservationController.getReservationsByFacility(1L, request(etag));
+        assertEquals(HttpStatus.OK, deleted.getStatusCode());
+        assertNotEquals(etag, deleted.getHeaders().getETag());
+        verify(reservationService, times(2)).findByFacilityId(1L);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reservations/facility/1");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
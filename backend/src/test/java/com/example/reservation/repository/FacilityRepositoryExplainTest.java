@@ -0,0 +1,167 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.dto.FacilitySearchDTO;
+import com.example.reservation.model.entity.Facility;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 施設の絞り込み検索（{@link FacilityRepository#findByFilter}）でHibernateが発行するSQLが
+ * db/facility-search-indexes.sqlのインデックスを使用することを、PostgreSQLの実行計画（EXPLAIN ANALYZE）で検証するテストクラス
+ * <p>
+ * 発行されたSQLを {@link RecordingStatementInspector} で記録し、プランナーの設定を変えずに実行計画を取得します。
+ * 条件の値はSQLに埋め込まれるようにし（criteria.value_handling_mode=inline）、
+ * 取得件数・読み飛ばす件数のパラメーターだけをPREPAREで指定します。データは10万件で、実際の規模に近い統計情報で計画させます
+ * <p>
+ * pg_trgmは日本語の文字をLC_CTYPEの文字分類で判定するため、データベースのLC_CTYPEがUTF-8でない場合は
+ * 日本語の検索語からトライグラムが作られず、インデックス全体を走査して再チェックすることになります（本番環境も同様）
+ * <p>
+ * application.ymlのデータベースに接続して実行するため、環境変数 RESERVATION_DB_TESTS=true の場合のみ実行します
+ * テストデータはテストごとにロールバックされます
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.reservation.repository.FacilityRepositoryExplainTest$RecordingStatementInspector",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@Transactional
+@EnabledIfEnvironmentVariable(named = "RESERVATION_DB_TESTS", matches = "true")
+public class FacilityRepositoryExplainTest {
+
+    private static final int FACILITIES = 100_000;
+    private static final Pattern RECHECK_REMOVED = Pattern.compile("Rows Removed by Index Recheck: (\\d+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 施設名の1%が「セミナールーム」を含み、収容人数は0〜199に均等に分布する
+        jdbcTemplate.update("INSERT INTO facilities (name, location, capacity, created_at, updated_at) " +
+                "SELECT '施設' || i || CASE WHEN i % 100 = 0 THEN 'セミナールーム' ELSE '会議室' END, " +
+                "'本館' || (i % 50) || '階', i % 200, now(), now() FROM generate_series(1, ?) AS i", FACILITIES);
+        jdbcTemplate.execute("ANALYZE facilities");
+    }
+
+    /**
+     * 施設名の部分一致がpg_trgmのGINインデックスで検索され、インデックス全体の再チェックにならないことを検証します
+     */
+    @Test
+    void findByFilter_NameContains_UsesTrigramIndexWithoutFullRecheck() {
+        String lcCtype = jdbcTemplate.queryForObject("SELECT current_setting('lc_ctype')", String.class);
+        assertTrue(lcCtype.toUpperCase(Locale.ROOT).replace("-", "").contains("UTF8"),
+                "pg_trgmで日本語を検索するにはデータベースのLC_CTYPEがUTF-8である必要があります: " + lcCtype);
+        FacilitySearchDTO filter = new FacilitySearchDTO();
+        filter.setName("セミナー");
+
+        String plan = explainFindByFilter(filter);
+
+        assertTrue(plan.contains("facilities_name_trgm_idx"), plan);
+        Matcher removed = RECHECK_REMOVED.matcher(plan);
+        assertFalse(removed.find() && Long.parseLong(removed.group(1)) > FACILITIES / 100, plan);
+    }
+
+    /**
+     * 収容人数の範囲検索がB-treeインデックスで検索されることを検証します
+     */
+    @Test
+    void findByFilter_CapacityRange_UsesBtreeIndex() {
+        FacilitySearchDTO filter = new FacilitySearchDTO();
+        filter.setMinCapacity(150);
+        filter.setMaxCapacity(160);
+
+        String plan = explainFindByFilter(filter);
+
+        assertTrue(plan.contains("facilities_capacity_idx"), plan);
+    }
+
+    /**
+     * 条件を組み合わせた絞り込みが1回のクエリで正しい結果を返すことを検証します
+     */
+    @Test
+    void findByFilter_CombinedConditions_ReturnsMatchingFacilities() {
+        FacilitySearchDTO filter = new FacilitySearchDTO();
+        filter.setName("セミナー");
+        filter.setMinCapacity(100);
+        filter.setMaxCapacity(199);
+
+        List<Facility> facilities = facilityRepository.findByFilter(filter, 0, 100);
+
+        assertFalse(facilities.isEmpty());
+        assertTrue(facilities.stream().allMatch(f -> f.getName().contains("セミナー")
+                && f.getCapacity() >= 100 && f.getCapacity() <= 199));
+    }
+
+    /**
+     * findByFilterを実行して発行されたSQLを記録し、同じSQLの実行計画を取得する
+     * 取得件数・読み飛ばす件数は同じ値とし、SQL中のパラメーター（?）の順序に依存しないようにする
+     */
+    private String explainFindByFilter(FacilitySearchDTO filter) {
+        int page = 50;
+        RecordingStatementInspector.clear();
+        facilityRepository.findByFilter(filter, page, page);
+        String sql = RecordingStatementInspector.lastSelect();
+        assertNotNull(sql, "findByFilterのSQLが記録されていません");
+
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertTrue(parameters <= 2, "取得件数・読み飛ばす件数以外のパラメーターがあります: " + sql);
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, String.valueOf(page))) + ")";
+
+        jdbcTemplate.execute("PREPARE facility_filter AS " + prepared);
+        try {
+            return String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN (ANALYZE, BUFFERS) EXECUTE facility_filter" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE facility_filter");
+        }
+    }
+
+    /**
+     * Hibernateが発行した施設の検索SQLを記録するStatementInspector
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+        private static volatile String lastSelect;
+
+        static void clear() {
+            lastSelect = null;
+        }
+
+        static String lastSelect() {
+            return lastSelect;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.trim().toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("select") && normalized.contains("facilities")) {
+                lastSelect = sql;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.reservation.repository;
+
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 施設・ユーザーの第2レベルキャッシュのテストクラス
+ * 別々のトランザクションでの読み込みがキャッシュから行われ、更新・削除のコミット後に古い値が返らないことを検証します
+ * （組み込みデータベースで実行し、キャッシュの設定は application.yml / application.conf のものを使用します）
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private FacilityRepository facilityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        tx.executeWithoutResult(status -> {
+            facilityRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+        statistics.clear();
+    }
+
+    /**
+     * 施設の読み込みがキャッシュから行われ、更新後の読み込みで更新後の値が返されることを検証します
+     */
+    @Test
+    void facility_UpdatedInAnotherTransaction_NeverReadStale() {
+        Long id = tx.execute(status -> facilityRepository.save(facility("会議室A", 10)).getId());
+        assertEquals("会議室A", tx.execute(status -> facilityRepository.findById(id).orElseThrow().getName()));
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        tx.executeWithoutResult(status -> {
+            Facility facility = facilityRepository.findById(id).orElseThrow();
+            facility.setName("会議室B");
+            facility.setCapacity(20);
+        });
+
+        Facility reloaded = tx.execute(status -> facilityRepository.findById(id).orElseThrow());
+        assertEquals("会議室B", reloaded.getName());
+        assertEquals(20, reloaded.getCapacity());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hits, "施設はキャッシュから読み込まれること");
+    }
+
+    /**
+     * 削除された施設がキャッシュから返されないことを検証します
+     */
+    @Test
+    void facility_Deleted_NotReturnedFromCache() {
+        Long id = tx.execute(status -> facilityRepository.save(facility("会議室A", 10)).getId());
+        tx.execute(status -> facilityRepository.findById(id));
+
+        tx.executeWithoutResult(status -> facilityRepository.deleteById(id));
+
+        assertTrue(tx.execute(status -> facilityRepository.findById(id)).isEmpty());
+    }
+
+    /**
+     * ユーザー名での読み込みがナチュラルIDのキャッシュを使用し、更新・削除後に古い値が返されないことを検証します
+     */
+    @Test
+    void userByUsername_UpdatedAndDeleted_NeverReadStale() {
+        tx.executeWithoutResult(status -> userRepository.save(user("taro", "taro@example.com")));
+        tx.execute(status -> userRepository.findByUsername("taro"));
+        assertEquals("taro@example.com",
+                tx.execute(status -> userRepository.findByUsername("taro").orElseThrow().getEmail()));
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0, "ユーザー名はキャッシュで解決されること");
+
+        tx.executeWithoutResult(status -> userRepository.findByUsername("taro").orElseThrow()
+                .setEmail("taro@example.org"));
+        assertEquals("taro@example.org",
+                tx.execute(status -> userRepository.findByUsername("taro").orElseThrow().getEmail()));
+
+        tx.executeWithoutResult(status -> userRepository.delete(userRepository.findByUsername("taro").orElseThrow()));
+        assertTrue(tx.execute(status -> userRepository.findByUsername("taro")).isEmpty());
+    }
+
+    private static Facility facility(String name, int capacity) {
+        Facility facility = new Facility();
+        facility.setName(name);
+        facility.setCapacity(capacity);
+        return facility;
+    }
+
+    private static User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPasswordHash("{bcrypt}hash");
+        user.setRole(User.Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.reservation.security;
+
+import com.example.reservation.config.PasswordHashingProperties;
+import com.example.reservation.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * BoundedPasswordEncoderのテストクラス
+ * 専用スレッドプールとキューが埋まった場合に、待たずに拒否されることを確認します
+ */
+public class BoundedPasswordEncoderTest {
+
+    /**
+     * 実行中1件・実行待ち1件で埋まっている間の照合は即座にServerBusyExceptionとなり、メトリクスに記録されることを検証します
+     */
+    @Test
+    void matches_Saturated_RejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, properties, meterRegistry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> running = callers.submit(() -> encoder.matches("password", "hash"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Boolean> queued = callers.submit(() -> encoder.matches("password", "hash"));
+            while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            ServerBusyException exception = assertThrows(ServerBusyException.class, () -> encoder.matches("password", "hash"));
+            assertEquals(properties.getRetryAfter(), exception.getRetryAfter());
+            assertEquals(1, meterRegistry.get("auth.password.hashing").tag("outcome", "rejected").timer().count());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+            assertEquals(2, meterRegistry.get("auth.password.hashing").tag("outcome", "matched").timer().count());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            encoder.destroy();
+        }
+    }
+}
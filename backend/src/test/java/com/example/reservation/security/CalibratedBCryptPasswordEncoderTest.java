@@ -0,0 +1,57 @@
+package com.example.reservation.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CalibratedBCryptPasswordEncoderのテストクラス
+ * コストが低いハッシュや接頭辞のない従来のハッシュが再ハッシュの対象となることを確認します
+ */
+public class CalibratedBCryptPasswordEncoderTest {
+
+    /**
+     * 現在のコストより低いハッシュだけが再ハッシュの対象となり、高いハッシュは対象とならないことを検証します
+     * （コストの異なるノードが混在しても、ハッシュが上げ下げを繰り返さない）
+     */
+    @Test
+    void upgradeEncoding_LowerCostOnly_ReturnsTrue() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+    }
+
+    /**
+     * 接頭辞のない従来のハッシュが照合でき、接頭辞付きの形式への再ハッシュ対象となることを検証します
+     */
+    @Test
+    void delegating_LegacyHash_MatchesAndUpgrades() {
+        CalibratedBCryptPasswordEncoder bcrypt = new CalibratedBCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        String legacy = new BCryptPasswordEncoder(4).encode("password");
+
+        assertTrue(encoder.matches("password", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+
+        String upgraded = encoder.encode("password");
+        assertTrue(upgraded.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("password", upgraded));
+        assertFalse(encoder.upgradeEncoding(upgraded));
+    }
+
+    /**
+     * 目標処理時間がごく短い場合は最小のコストが選ばれることを検証します
+     */
+    @Test
+    void calibrate_TinyTarget_ReturnsMinStrength() {
+        assertEquals(4, CalibratedBCryptPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 12));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.reservation.security;
+
+import com.example.reservation.model.entity.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JwtTokenUtilのテストクラス
+ * トークンの1回の解析で得た検証済みクレーム（役割・トークンバージョンを含む）により、生成・検証が完結することを確認します
+ */
+public class JwtTokenUtilTest {
+
+    private static final String SECRET = "testSecretKeyThatIsLongEnoughForHmacSha512SignaturesInUnitTests!!";
+
+    private final UserDetails userDetails = org.springframework.security.core.userdetails.User
+            .withUsername("testuser").password("x").authorities(List.of()).build();
+
+    private final User user = createUser();
+
+    /**
+     * 生成したトークンから、ユーザー名・ユーザーID・有効期限を含む検証済みクレームが得られることを検証します
+     */
+    @Test
+    void verify_GeneratedToken_ReturnsClaims() {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 60_000L);
+        String token = jwtTokenUtil.generateToken(user);
+
+        VerifiedClaims claims = jwtTokenUtil.verify(token);
+
+        assertEquals("testuser", claims.username());
+        assertEquals(42L, claims.userId());
+        assertEquals(User.Role.ADMIN, claims.role());
+        assertEquals(3L, claims.tokenVersion());
+        assertTrue(claims.hasPrincipalClaims());
+        assertTrue(claims.expiresAt().isAfter(claims.issuedAt()));
+        assertTrue(jwtTokenUtil.validateToken(claims, userDetails));
+    }
+
+    /**
+     * 改ざんされたトークンと期限切れのトークンが拒否されることを検証します
+     */
+    @Test
+    void verify_TamperedOrExpiredToken_Throws() {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(SECRET, 60_000L);
+        String token = jwtTokenUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtTokenUtil.verify(tampered));
+
+        JwtTokenUtil expiredUtil = new JwtTokenUtil(SECRET, -1_000L);
+        String expired = expiredUtil.generateToken(user);
+        assertThrows(ExpiredJwtException.class, () -> jwtTokenUtil.verify(expired));
+    }
+
+    private static User createUser() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("testuser");
+        user.setRole(User.Role.ADMIN);
+        user.setTokenVersion(3L);
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.reservation.security;
+
+import com.example.reservation.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenBucketStoreのテストクラス
+ * 容量までの連続取得、時間経過による補充、使われなくなったバケットの破棄を確認します
+ */
+public class TokenBucketStoreTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * 容量分は連続で取得でき、それを超えると補充までの待ち時間が返されることを検証します
+     */
+    @Test
+    void tryAcquire_BeyondCapacity_ReturnsWaitUntilRefill() {
+        TokenBucketStore store = new TokenBucketStore(new RateLimitProperties(), new SimpleMeterRegistry());
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, store.tryAcquire("login:IP:127.0.0.1", 5, MINUTE, now));
+        }
+        long wait = store.tryAcquire("login:IP:127.0.0.1", 5, MINUTE, now);
+        assertEquals(MINUTE / 5, wait);
+
+        // 別のキーは影響を受けない
+        assertEquals(0, store.tryAcquire("login:IP:127.0.0.2", 5, MINUTE, now));
+        // 1トークン分の時間が経過すると再び取得できる
+        assertEquals(0, store.tryAcquire("login:IP:127.0.0.1", 5, MINUTE, now + wait));
+    }
+
+    /**
+     * 満杯に戻ってから一定時間使われなかったバケットが破棄されることを検証します
+     */
+    @Test
+    void sweepIfDue_IdleBucket_IsRemoved() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+        TokenBucketStore store = new TokenBucketStore(properties, new SimpleMeterRegistry());
+        long now = System.nanoTime();
+        store.tryAcquire("signup:IP:127.0.0.1", 5, MINUTE, now);
+        assertEquals(1, store.size());
+
+        store.sweepIfDue(now + 3 * MINUTE);
+
+        assertEquals(0, store.size());
+    }
+}
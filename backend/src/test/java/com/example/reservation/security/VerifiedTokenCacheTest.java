@@ -0,0 +1,58 @@
+package com.example.reservation.security;
+
+import com.example.reservation.model.entity.User;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * VerifiedTokenCacheのテストクラス
+ * 同じトークンの2回目以降の検証が省略され、不正なトークンがキャッシュされないことを確認します
+ */
+public class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "testSecretKeyThatIsLongEnoughForHmacSha512SignaturesInUnitTests!!";
+
+    /**
+     * 同じトークンは1回だけ検証され、以降はキャッシュしたクレームが返されることを検証します
+     */
+    @Test
+    void verify_SameToken_VerifiesOnce() {
+        JwtTokenUtil jwtTokenUtil = spy(new JwtTokenUtil(SECRET, 60_000L));
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtTokenUtil, true, 100, new SimpleMeterRegistry());
+        String token = jwtTokenUtil.generateToken(createUser());
+
+        VerifiedClaims first = verifiedTokenCache.verify(token);
+        VerifiedClaims second = verifiedTokenCache.verify(token);
+
+        assertSame(first, second);
+        assertEquals(42L, second.userId());
+        verify(jwtTokenUtil, times(1)).verify(token);
+    }
+
+    /**
+     * 改ざんされたトークンはキャッシュされず、毎回拒否されることを検証します
+     */
+    @Test
+    void verify_TamperedToken_IsNotCached() {
+        JwtTokenUtil jwtTokenUtil = spy(new JwtTokenUtil(SECRET, 60_000L));
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtTokenUtil, true, 100, new SimpleMeterRegistry());
+        String token = jwtTokenUtil.generateToken(createUser());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> verifiedTokenCache.verify(tampered));
+        assertThrows(JwtException.class, () -> verifiedTokenCache.verify(tampered));
+        verify(jwtTokenUtil, times(2)).verify(tampered);
+    }
+
+    private static User createUser() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("testuser");
+        user.setRole(User.Role.USER);
+        return user;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.ReservationProperties;
+import com.example.reservation.event.ReservationChangedEvent;
+import com.example.reservation.model.dto.AvailabilityDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AvailabilityServiceImplのテストクラス
+ * 時間枠の境界が予約の重複判定と同じく両端を含むこと、取得できる期間の制限、
+ * 構築中に承認の取り消しで日が破棄されても応答できることを検証します
+ */
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    private AvailabilityServiceImpl availabilityService;
+
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        availabilityService = new AvailabilityServiceImpl(reservationRepository, facilityRepository, new ReservationProperties());
+    }
+
+    /**
+     * 承認済み予約の開始・終了時刻に接する時間枠も、重複判定で拒否されるため予約不可となることを検証します
+     */
+    @Test
+    void getAvailability_SlotsTouchingApprovedReservation_AreUnavailable() {
+        when(facilityRepository.existsById(10L)).thenReturn(true);
+        when(reservationRepository.findByFacilityIdAndStatusWithin(eq(10L), eq(Reservation.ReservationStatus.APPROVED), any(), any()))
+                .thenReturn(List.of(approved(day.atTime(9, 0), day.atTime(10, 0))));
+
+        AvailabilityDTO availability = availabilityService.getAvailability(10L, day, day, 15);
+
+        assertTrue(isAvailable(availability, day.atTime(8, 30)));
+        assertFalse(isAvailable(availability, day.atTime(8, 45)));   // 終了が予約の開始時刻ちょうど
+        assertFalse(isAvailable(availability, day.atTime(9, 30)));
+        assertFalse(isAvailable(availability, day.atTime(10, 0)));   // 開始が予約の終了時刻ちょうど
+        assertTrue(isAvailable(availability, day.atTime(10, 15)));
+    }
+
+    /**
+     * 取得できる期間（今日の前後）の外の日付は拒否されることを検証します
+     */
+    @Test
+    void getAvailability_OutsideHorizon_Rejected() {
+        LocalDate farFuture = LocalDate.now().plusYears(5);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.getAvailability(10L, farFuture, farFuture, null));
+        verifyNoInteractions(reservationRepository);
+    }
+
+    /**
+     * キャッシュ済みの日が、別の日の構築中（取得から応答の組み立てまでの間）に承認の取り消しで破棄されても、
+     * 取得が失敗せず、破棄された日を構築し直して期間内の全日の空き状況を返すことを検証します
+     */
+    @Test
+    void getAvailability_DayEvictedWhileLoading_RebuildsEvictedDay() {
+        LocalDate nextDay = day.plusDays(1);
+        ReservationChangedEvent revoked = new ReservationChangedEvent(1L, 10L, 1L, day.atTime(9, 0), day.atTime(10, 0),
+                Reservation.ReservationStatus.APPROVED, Reservation.ReservationStatus.CANCELLED);
+        when(facilityRepository.existsById(10L)).thenReturn(true);
+        when(reservationRepository.findByFacilityIdAndStatusWithin(eq(10L), eq(Reservation.ReservationStatus.APPROVED), any(), any()))
+                .thenReturn(List.of())
+                .thenAnswer(invocation -> {
+                    // 翌日の構築中に、キャッシュ済みの日の承認が取り消される
+                    availabilityService.onReservationChanged(revoked);
+                    return List.of();
+                })
+                .thenReturn(List.of());
+        availabilityService.getAvailability(10L, day, day, 15);
+
+        AvailabilityDTO availability = availabilityService.getAvailability(10L, day, nextDay, 15);
+
+        assertEquals(List.of(day, nextDay), availability.getDays().stream().map(AvailabilityDTO.Day::getDate).toList());
+        assertTrue(isAvailable(availability, day.atTime(9, 0)));
+        verify(reservationRepository, times(3)).findByFacilityIdAndStatusWithin(any(), any(), any(), any());
+    }
+
+    private static boolean isAvailable(AvailabilityDTO availability, LocalDateTime slotStart) {
+        return availability.getDays().stream()
+                .flatMap(d -> d.getSlots().stream())
+                .filter(slot -> slot.getStartTime().equals(slotStart))
+                .findFirst()
+                .orElseThrow()
+                .isAvailable();
+    }
+
+    private static Reservation approved(LocalDateTime startTime, LocalDateTime endTime) {
+        Facility facility = new Facility();
+        facility.setId(10L);
+        Reservation reservation = new Reservation();
+        reservation.setFacility(facility);
+        reservation.setStartTime(startTime);
+        reservation.setEndTime(endTime);
+        reservation.setStatus(Reservation.ReservationStatus.APPROVED);
+        return reservation;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.reservation.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BloomFilterのテストクラス
+ * 追加した要素が必ず「含まれているかもしれない」と判定され、偽陽性率が目標の範囲に収まることを確認します
+ */
+public class BloomFilterTest {
+
+    /**
+     * 追加した要素に偽陰性がなく、未追加の要素の偽陽性率が目標の2倍以内に収まることを検証します
+     */
+    @Test
+    void mightContain_ExpectedInsertions_NoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "偽陽性: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.reservation.service;
+
+import com.example.reservation.event.FacilityChangedEvent;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.repository.FacilityRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FacilityCatalogのテストクラス
+ * 施設の変更後にスナップショットが作り直されることと、If-None-Matchヘッダーの判定を確認します
+ */
+@ExtendWith(MockitoExtension.class)
+public class FacilityCatalogTest {
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    private FacilityCatalog facilityCatalog;
+
+    @BeforeEach
+    void setUp() {
+        facilityCatalog = new FacilityCatalog(facilityRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    /**
+     * 施設変更イベントの後にスナップショットが作り直され、世代・内容・ETagが変わることを検証します
+     * 変更がない間は同じスナップショットを返し、データベースに問い合わせないことも検証します
+     */
+    @Test
+    void current_AfterFacilityChanged_Rebuilt() {
+        when(facilityRepository.findAll())
+                .thenReturn(List.of(facility(1L, "会議室A")))
+                .thenReturn(List.of(facility(1L, "会議室A"), facility(2L, "会議室B")));
+
+        FacilityCatalog.Snapshot first = facilityCatalog.current();
+        assertSame(first, facilityCatalog.current());
+        verify(facilityRepository, times(1)).findAll();
+
+        facilityCatalog.onFacilityChanged(new FacilityChangedEvent(2L));
+        FacilityCatalog.Snapshot second = facilityCatalog.current();
+
+        verify(facilityRepository, times(2)).findAll();
+        assertEquals(first.version() + 1, second.version());
+        assertNotEquals(first.etag(), second.etag());
+        assertFalse(new String(first.json(), StandardCharsets.UTF_8).contains("会議室B"));
+        assertTrue(new String(second.json(), StandardCharsets.UTF_8).contains("会議室B"));
+    }
+
+    /**
+     * If-None-Matchヘッダーの「*」、弱いETag（W/）、カンマ区切りの複数指定に対応することを検証します
+     */
+    @Test
+    void matches_IfNoneMatchVariants() {
+        FacilityCatalog.Snapshot snapshot = new FacilityCatalog.Snapshot(0, new byte[0], "\"abc\"");
+
+        assertTrue(snapshot.matches("\"abc\""));
+        assertTrue(snapshot.matches("*"));
+        assertTrue(snapshot.matches("W/\"abc\""));
+        assertTrue(snapshot.matches("\"xyz\", W/\"abc\""));
+        assertTrue(snapshot.matches("\"xyz\",\"abc\""));
+        assertFalse(snapshot.matches("\"xyz\", \"def\""));
+        assertFalse(snapshot.matches("abc"));
+        assertFalse(snapshot.matches(null));
+    }
+
+    private static Facility facility(Long id, String name) {
+        Facility facility = new Facility();
+        facility.setId(id);
+        facility.setName(name);
+        facility.setCapacity(10);
+        return facility;
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.reservation.service;
+
+import com.example.reservation.event.FacilityChangedEvent;
+import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.repository.FacilityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * FacilitySearchIndexのテストクラス
+ * 全角・半角、ひらがな・カタカナの違いを無視した検索、関連度順の並び、索引の破棄と再構築を検証します
+ */
+@ExtendWith(MockitoExtension.class)
+public class FacilitySearchIndexTest {
+
+    /**
+     * 全件走査と比較する検索語（施設名・場所・説明に一致するもの、一致しないもの）
+     */
+    private static final String[] QUERIES = {"セミナールーム12", "利用番号4242", "みどり区4", "ホール99", "存在しない"};
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    /**
+     * 全角英数字・半角カナ・ひらがなの検索語で、正規化された施設名・場所に一致することを検証します
+     */
+    @Test
+    void search_WidthAndKanaVariants_MatchesNormalizedText() {
+        when(facilityRepository.findAll()).thenReturn(List.of(
+                facility(1L, "会議室Ａ１０１", "本館", null),
+                facility(2L, "ﾄﾚｰﾆﾝｸﾞルーム", "別館", null),
+                facility(3L, "多目的ホール", "さくら市", null)));
+        FacilitySearchIndex index = new FacilitySearchIndex(facilityRepository);
+
+        assertEquals(List.of(1L), ids(index.search("a101", 10, 0)));
+        assertEquals(List.of(2L), ids(index.search("とれーにんぐ", 10, 0)));
+        assertEquals(List.of(3L), ids(index.search("サクラ", 10, 0)));
+        assertEquals(List.of(1L), ids(index.search("会議 室", 10, 0)));
+        verify(facilityRepository, times(1)).findAll();
+    }
+
+    /**
+     * 施設名との一致が場所・説明との一致より上位になり、limit/offsetで範囲を取得できることを検証します
+     */
+    @Test
+    void search_MatchesInSeveralFields_RankedByRelevanceAndPaged() {
+        when(facilityRepository.findAll()).thenReturn(List.of(
+                facility(1L, "第一会議室", "本館", "プロジェクター付き"),
+                facility(2L, "体育館", "会議棟", null),
+                facility(3L, "会議室", "本館", null),
+                facility(4L, "和室", "別館", "会議室としても利用可能"),
+                facility(5L, "会議室別館", "別館", null)));
+        FacilitySearchIndex index = new FacilitySearchIndex(facilityRepository);
+
+        assertEquals(List.of(3L, 5L, 1L, 4L), ids(index.search("会議室", 10, 0)));
+        assertEquals(List.of(5L, 1L), ids(index.search("会議室", 2, 1)));
+        assertEquals(List.of(3L, 5L, 1L, 2L), ids(index.search("会議", 4, 0)));
+        assertTrue(index.search("存在しない施設", 10, 0).isEmpty());
+    }
+
+    /**
+     * 施設の変更イベントで索引が破棄され、次回の検索で作り直されることを検証します
+     */
+    @Test
+    void onFacilityChanged_RebuildsOnNextSearch() {
+        when(facilityRepository.findAll())
+                .thenReturn(List.of(facility(1L, "会議室", null, null)))
+                .thenReturn(List.of(facility(1L, "セミナールーム", null, null)));
+        FacilitySearchIndex index = new FacilitySearchIndex(facilityRepository);
+        assertEquals(List.of(1L), ids(index.search("会議室", 10, 0)));
+
+        index.onFacilityChanged(new FacilityChangedEvent(1L));
+
+        assertTrue(index.search("会議室", 10, 0).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("セミナー", 10, 0)));
+    }
+
+    /**
+     * 多数の施設で、検索結果の件数が全件の部分一致走査（LIKE '%x%' 相当）と一致することを検証します
+     */
+    @Test
+    void search_ManyFacilities_MatchesFullScan() {
+        List<Facility> facilities = generatedFacilities(5_000);
+        when(facilityRepository.findAll()).thenReturn(facilities);
+        FacilitySearchIndex index = new FacilitySearchIndex(facilityRepository);
+
+        for (String query : QUERIES) {
+            assertEquals(Math.min(fullScanCount(facilities, query), 200), index.search(query, 200, 0).size(), query);
+        }
+    }
+
+    /**
+     * 10万施設での検索の所要時間を、全件の部分一致走査（LIKE '%x%' 相当）と比較します
+     * 所要時間は標準出力に表示します
+     * 通常のテストの実行時間を延ばさないよう、環境変数 RESERVATION_BENCHMARKS=true の場合のみ実行します
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "RESERVATION_BENCHMARKS", matches = "true")
+    void search_100kFacilities_BenchmarkAgainstFullScan() {
+        List<Facility> facilities = generatedFacilities(100_000);
+        when(facilityRepository.findAll()).thenReturn(facilities);
+        FacilitySearchIndex index = new FacilitySearchIndex(facilityRepository);
+
+        long buildStart = System.nanoTime();
+        index.search("warmup", 1, 0);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        int rounds = 200;
+        long indexNanos = 0;
+        long scanNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (String query : QUERIES) {
+                long start = System.nanoTime();
+                List<FacilityDTO> hits = index.search(query, 200, 0);
+                indexNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                long expected = fullScanCount(facilities, query);
+                scanNanos += System.nanoTime() - start;
+
+                if (round == 0) {
+                    assertEquals(Math.min(expected, 200), hits.size(), query);
+                }
+            }
+        }
+        int searches = rounds * QUERIES.length;
+        System.out.printf("FacilitySearchIndex 100k: build=%dms, index=%.1fus/search, full scan=%.1fus/search%n",
+                buildNanos / 1_000_000, indexNanos / 1_000.0 / searches, scanNanos / 1_000.0 / searches);
+    }
+
+    /**
+     * 場所・種類・番号を組み合わせた施設を生成する
+     */
+    private static List<Facility> generatedFacilities(int count) {
+        String[] areas = {"本館", "別館", "東棟", "西棟", "北棟", "南棟", "さくら市", "みどり区"};
+        String[] kinds = {"会議室", "セミナールーム", "多目的ホール", "トレーニングルーム", "和室", "体育館", "スタジオ"};
+        List<Facility> facilities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            facilities.add(facility((long) i + 1, kinds[i % kinds.length] + (i % 997),
+                    areas[i % areas.length] + (i % 50) + "階", "利用番号" + i));
+        }
+        return facilities;
+    }
+
+    private static long fullScanCount(List<Facility> facilities, String query) {
+        return facilities.stream()
+                .filter(f -> f.getName().contains(query) || f.getLocation().contains(query)
+                        || f.getDescription().contains(query))
+                .count();
+    }
+
+    private static List<Long> ids(List<FacilityDTO> facilities) {
+        return facilities.stream().map(FacilityDTO::getId).toList();
+    }
+
+    private static Facility facility(Long id, String name, String location, String description) {
+        Facility facility = new Facility();
+        facility.setId(id);
+        facility.setName(name);
+        facility.setLocation(location);
+        facility.setDescription(description);
+        return facility;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.FacilitySearchProperties;
+import com.example.reservation.event.FacilityChangedEvent;
+import com.example.reservation.exception.IllegalOperationException;
+import com.example.reservation.model.dto.FacilityDTO;
+import com.example.reservation.model.dto.FacilitySearchDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * FacilityServiceImplのテストクラス
+ * 予約が存在する施設の削除を拒否することと、絞り込み条件の検証・リポジトリへの受け渡しを確認します
+ */
+@ExtendWith(MockitoExtension.class)
+public class FacilityServiceTest {
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FacilitySearchIndex facilitySearchIndex;
+
+    @Spy
+    private FacilitySearchProperties facilitySearchProperties = new FacilitySearchProperties();
+
+    @InjectMocks
+    private FacilityServiceImpl facilityService;
+
+    /**
+     * 予約が存在する施設は削除されず、施設変更イベントも発行されないことを検証します
+     */
+    @Test
+    void delete_WithReservations_Refused() {
+        when(facilityRepository.existsById(1L)).thenReturn(true);
+        when(reservationRepository.existsByFacilityId(1L)).thenReturn(true);
+
+        IllegalOperationException exception = assertThrows(
+                IllegalOperationException.class,
+                () -> facilityService.delete(1L)
+        );
+
+        assertEquals("予約が存在する施設は削除できません: 1", exception.getMessage());
+        verify(facilityRepository, never()).deleteById(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    /**
+     * 予約のない施設は削除され、施設変更イベントが発行されることを検証します
+     */
+    @Test
+    void delete_WithoutReservations_DeletedAndEventPublished() {
+        when(facilityRepository.existsById(1L)).thenReturn(true);
+        when(reservationRepository.existsByFacilityId(1L)).thenReturn(false);
+
+        facilityService.delete(1L);
+
+        verify(facilityRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new FacilityChangedEvent(1L));
+    }
+
+    /**
+     * 取得件数・読み飛ばす件数を省略した場合は既定値で、絞り込み条件はそのままリポジトリに渡されることを検証します
+     */
+    @Test
+    void filter_DefaultPaging_PassesFilterToRepository() {
+        FacilitySearchDTO filter = new FacilitySearchDTO();
+        filter.setName("会議室");
+        filter.setMinCapacity(10);
+        filter.setMaxCapacity(10);
+        Facility facility = new Facility();
+        facility.setId(1L);
+        facility.setName("会議室A");
+        facility.setCapacity(10);
+        when(facilityRepository.findByFilter(filter, 0, 50)).thenReturn(List.of(facility));
+
+        List<FacilityDTO> result = facilityService.filter(filter, null, null);
+
+        assertEquals(1, result.size());
+        assertEquals("会議室A", result.get(0).getName());
+        verify(facilityRepository).findByFilter(filter, 0, 50);
+    }
+
+    /**
+     * 最小収容人数が最大収容人数を超える場合は、クエリを実行せずに拒否されることを検証します
+     */
+    @Test
+    void filter_MinCapacityAboveMax_Rejected() {
+        FacilitySearchDTO filter = new FacilitySearchDTO();
+        filter.setMinCapacity(20);
+        filter.setMaxCapacity(10);
+
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> facilityService.filter(filter, null, null)
+        );
+
+        assertEquals("最小収容人数は最大収容人数以下である必要があります", exception.getMessage());
+        verify(facilityRepository, never()).findByFilter(any(), anyInt(), anyInt());
+    }
+
+    /**
+     * 空いている時間帯の片方のみの指定や、開始時間が終了時間以降の指定が拒否されることを検証します
+     */
+    @Test
+    void filter_InvalidAvailability_Rejected() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 1, 9, 0);
+        FacilitySearchDTO onlyFrom = new FacilitySearchDTO();
+        onlyFrom.setAvailableFrom(start);
+        FacilitySearchDTO reversed = new FacilitySearchDTO();
+        reversed.setAvailableFrom(start);
+        reversed.setAvailableTo(start);
+
+        assertThrows(IllegalArgumentException.class, () -> facilityService.filter(onlyFrom, null, null));
+        assertThrows(IllegalArgumentException.class, () -> facilityService.filter(reversed, null, null));
+        verify(facilityRepository, never()).findByFilter(any(), anyInt(), anyInt());
+    }
+
+    /**
+     * 取得件数が上限を超える場合と、読み飛ばす件数が負の場合に拒否されることを検証します
+     */
+    @Test
+    void filter_InvalidPaging_Rejected() {
+        FacilitySearchDTO filter = new FacilitySearchDTO();
+
+        assertThrows(IllegalArgumentException.class, () -> facilityService.filter(filter, 201, null));
+        assertThrows(IllegalArgumentException.class, () -> facilityService.filter(filter, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> facilityService.filter(filter, null, -1));
+        verify(facilityRepository, never()).findByFilter(any(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.ReservationProperties;
+import com.example.reservation.model.dto.ReservationBatchDTO;
+import com.example.reservation.model.dto.ReservationBatchResultDTO;
+import com.example.reservation.model.dto.ReservationCreateDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.model.entity.User;
+import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationJdbcRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.example.reservation.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReservationBatchServiceImplのテストクラス
+ * 繰り返しルールの展開と、ALL_OR_NOTHING / BEST_EFFORT の扱いを検証します
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReservationBatchServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationJdbcRepository reservationJdbcRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReservationBatchServiceImpl reservationBatchService;
+
+    private final LocalDateTime firstStart = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        ReservationProperties properties = new ReservationProperties();
+        reservationBatchService = new ReservationBatchServiceImpl(
+                reservationRepository, reservationJdbcRepository, userRepository, facilityRepository,
+                properties, eventPublisher, new FacilityLockManager(properties, new SimpleMeterRegistry()),
+                new TransactionTemplate(transactionManager));
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        Facility facility = new Facility();
+        facility.setId(10L);
+        facility.setName("会議室A");
+        when(facilityRepository.findAllById(anyIterable())).thenReturn(List.of(facility));
+    }
+
+    /**
+     * 毎週の繰り返しルールが指定回数分に展開され、1回の範囲検索とバッチ登録で作成されることを検証します
+     */
+    @Test
+    void createBatch_WeeklyRecurrence_CreatesAllOccurrences() {
+        when(reservationRepository.findOverlappingReservations(eq(10L), any(), any())).thenReturn(List.of());
+
+        ReservationBatchResultDTO result = reservationBatchService.createBatch(weekly(4, ReservationBatchDTO.Mode.ALL_OR_NOTHING), 1L);
+
+        assertEquals(4, result.getCreatedCount());
+        assertEquals(0, result.getRejectedCount());
+        assertEquals(firstStart.plusWeeks(3), result.getResults().get(3).getStartTime());
+        verify(reservationRepository, times(1)).findOverlappingReservations(10L, firstStart, firstStart.plusWeeks(3).plusHours(1));
+        verify(reservationJdbcRepository, times(1)).insertAll(argThat(list -> list.size() == 4));
+        verify(eventPublisher, times(4)).publishEvent(any(Object.class));
+    }
+
+    /**
+     * ALL_OR_NOTHINGでは1件でも重複があれば何も登録されないことを検証します
+     */
+    @Test
+    void createBatch_AllOrNothingWithConflict_CreatesNothing() {
+        when(reservationRepository.findOverlappingReservations(eq(10L), any(), any())).thenReturn(List.of(approvedAt(firstStart.plusWeeks(1))));
+
+        ReservationBatchResultDTO result = reservationBatchService.createBatch(weekly(3, ReservationBatchDTO.Mode.ALL_OR_NOTHING), 1L);
+
+        assertEquals(0, result.getCreatedCount());
+        assertEquals(3, result.getRejectedCount());
+        assertEquals("指定された時間枠は既に予約されています", result.getResults().get(1).getError());
+        verify(reservationJdbcRepository, never()).insertAll(any());
+    }
+
+    /**
+     * BEST_EFFORTでは重複しない予約のみ登録されることを検証します
+     */
+    @Test
+    void createBatch_BestEffortWithConflict_CreatesOthers() {
+        when(reservationRepository.findOverlappingReservations(eq(10L), any(), any())).thenReturn(List.of(approvedAt(firstStart.plusWeeks(1))));
+
+        ReservationBatchResultDTO result = reservationBatchService.createBatch(weekly(3, ReservationBatchDTO.Mode.BEST_EFFORT), 1L);
+
+        assertEquals(2, result.getCreatedCount());
+        assertNull(result.getResults().get(1).getReservation());
+        assertNotNull(result.getResults().get(2).getReservation());
+        verify(reservationJdbcRepository, times(1)).insertAll(argThat(list -> list.size() == 2));
+    }
+
+    private ReservationBatchDTO weekly(int count, ReservationBatchDTO.Mode mode) {
+        ReservationCreateDTO template = new ReservationCreateDTO();
+        template.setFacilityId(10L);
+        template.setStartTime(firstStart);
+        template.setEndTime(firstStart.plusHours(1));
+        template.setPurpose("定例会議");
+
+        ReservationBatchDTO.Recurrence recurrence = new ReservationBatchDTO.Recurrence();
+        recurrence.setTemplate(template);
+        recurrence.setFrequency(ReservationBatchDTO.Frequency.WEEKLY);
+        recurrence.setCount(count);
+
+        ReservationBatchDTO batchDTO = new ReservationBatchDTO();
+        batchDTO.setRecurrence(recurrence);
+        batchDTO.setMode(mode);
+        return batchDTO;
+    }
+
+    private Reservation approvedAt(LocalDateTime startTime) {
+        Reservation reservation = new Reservation();
+        reservation.setId(99L);
+        reservation.setStartTime(startTime.plusMinutes(30));
+        reservation.setEndTime(startTime.plusMinutes(90));
+        reservation.setStatus(Reservation.ReservationStatus.APPROVED);
+        return reservation;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.reservation.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReservationExportServiceImplのテストクラス
+ * CSVのフィールドが区切り文字や数式として解釈される値を安全に出力することを確認します
+ */
+public class ReservationExportServiceTest {
+
+    /**
+     * 数式として解釈される文字で始まる値に「'」が付き、引用符で囲まれることを検証します
+     */
+    @Test
+    void csv_FormulaPrefix_Neutralized() {
+        assertEquals("\"'=HYPERLINK(\"\"http://example.com\"\")\"",
+                ReservationExportServiceImpl.csv("=HYPERLINK(\"http://example.com\")"));
+        assertEquals("\"'+1\"", ReservationExportServiceImpl.csv("+1"));
+        assertEquals("\"'-1\"", ReservationExportServiceImpl.csv("-1"));
+        assertEquals("\"'@SUM(A1)\"", ReservationExportServiceImpl.csv("@SUM(A1)"));
+        assertEquals("\"'\tdata\"", ReservationExportServiceImpl.csv("\tdata"));
+        assertEquals("\"'\rdata\"", ReservationExportServiceImpl.csv("\rdata"));
+    }
+
+    /**
+     * 通常の値はそのまま、区切り文字や引用符を含む値は引用符で囲まれることを検証します
+     */
+    @Test
+    void csv_PlainAndDelimitedValues_EscapedAsBefore() {
+        assertEquals("", ReservationExportServiceImpl.csv(null));
+        assertEquals("会議", ReservationExportServiceImpl.csv("会議"));
+        assertEquals("\"a,b\"", ReservationExportServiceImpl.csv("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", ReservationExportServiceImpl.csv("say \"hi\""));
+    }
+}
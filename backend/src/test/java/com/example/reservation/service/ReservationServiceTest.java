@@ -0,0 +1,223 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.ReservationProperties;
+import com.example.reservation.exception.IllegalOperationException;
+import com.example.reservation.model.dto.ReservationCreateDTO;
+import com.example.reservation.model.entity.Facility;
+import com.example.reservation.model.entity.Reservation;
+import com.example.reservation.model.entity.User;
+import com.example.reservation.repository.FacilityRepository;
+import com.example.reservation.repository.ReservationRepository;
+import com.example.reservation.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * ReservationServiceImplのテストクラス
+ * リポジトリをモック化したメモリ上のストアを使い、
+ * 施設ストライプロックによって承認時の重複チェックと保存が原子的に行われることを検証します
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReservationServiceTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 64;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private ReservationIntervalIndex reservationIntervalIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FacilityLockManager facilityLockManager;
+    private ReservationServiceImpl reservationService;
+
+    /**
+     * 保存済みの予約（モックリポジトリのストア）
+     */
+    private final List<Reservation> store = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        ReservationProperties properties = new ReservationProperties();
+        // 索引ではなくリポジトリのクエリで重複判定を行う（ストアを直接参照させるため）
+        properties.getIntervalIndex().setEnabled(false);
+        facilityLockManager = new FacilityLockManager(properties, new SimpleMeterRegistry());
+        reservationService = new ReservationServiceImpl(
+                reservationRepository, userRepository, facilityRepository,
+                reservationIntervalIndex, properties, eventPublisher, facilityLockManager);
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setRole(User.Role.USER);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(facilityRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Facility facility = new Facility();
+            facility.setId(invocation.getArgument(0));
+            facility.setName("会議室" + facility.getId());
+            return Optional.of(facility);
+        });
+
+        // ストア内の同一施設・重複時間の承認済み予約を返す（実際のクエリと同じく承認済みのみが枠を占有する）
+        lenient().when(reservationRepository.findOverlappingReservations(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Long facilityId = invocation.getArgument(0);
+            LocalDateTime start = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            List<Reservation> overlapping = new ArrayList<>();
+            for (Reservation r : store) {
+                if (r.getStatus() == Reservation.ReservationStatus.APPROVED
+                        && r.getFacility().getId().equals(facilityId)
+                        && !r.getStartTime().isAfter(end) && !r.getEndTime().isBefore(start)) {
+                    overlapping.add(r);
+                }
+            }
+            return overlapping;
+        });
+        lenient().when(reservationRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return store.stream().filter(r -> r.getId().equals(id)).findFirst();
+        });
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            // チェックと保存の間に他スレッドが割り込みやすいよう、わずかに待機する
+            Thread.yield();
+            if (reservation.getId() == null) {
+                reservation.setId(sequence.incrementAndGet());
+                store.add(reservation);
+            }
+            return reservation;
+        });
+    }
+
+    /**
+     * 同一施設・重複する時間枠の承認待ち予約を大量に同時承認した場合、1件だけが承認されることを検証します
+     * （作成された予約は承認待ちで枠を占有しないため、枠を占有する承認の操作を対象とする）
+     */
+    @Test
+    void updateStatus_ConcurrentApprovalsForSameSlot_OnlyOneSucceeds() throws Exception {
+        LocalDateTime slotStart = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> pendingIds = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            // 開始時間を少しずつずらし、すべての予約が互いに重複するようにする
+            pendingIds.add(reservationService.create(createDTO(10L, slotStart.plusSeconds(i % 60)), 1L).getId());
+        }
+        assertEquals(REQUESTS, store.size());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Long id : pendingIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        reservationService.updateStatus(id, Reservation.ReservationStatus.APPROVED);
+                        succeeded.incrementAndGet();
+                    } catch (IllegalOperationException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 検証
+        assertEquals(1, succeeded.get());
+        assertEquals(REQUESTS - 1, rejected.get());
+        assertEquals(1, store.stream().filter(r -> r.getStatus() == Reservation.ReservationStatus.APPROVED).count());
+        verify(reservationRepository, times(REQUESTS + 1)).save(any(Reservation.class));
+
+        // ストライプの統計情報に作成と承認のすべての取得が記録されていることを検証
+        FacilityLockManager.StripeStatistics statistics =
+                facilityLockManager.statistics(facilityLockManager.stripeOf(10L));
+        assertEquals(REQUESTS * 2L, statistics.acquisitions());
+        assertEquals(0, statistics.queueLength());
+    }
+
+    /**
+     * ある施設のロックが保持されている間も、別ストライプの施設の予約が待たされないことを検証します
+     */
+    @Test
+    void create_DifferentFacilities_DoNotBlockEachOther() throws Exception {
+        long blockedFacilityId = 1L;
+        long otherFacilityId = 2L;
+        while (facilityLockManager.stripeOf(otherFacilityId) == facilityLockManager.stripeOf(blockedFacilityId)) {
+            otherFacilityId++;
+        }
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> facilityLockManager.withFacilityLock(blockedFacilityId, () -> {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            // 別施設の予約はロック解放を待たずに完了する
+            assertNotNull(reservationService.create(createDTO(otherFacilityId, LocalDateTime.now().plusDays(1)), 1L));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ReservationCreateDTO createDTO(Long facilityId, LocalDateTime startTime) {
+        ReservationCreateDTO createDTO = new ReservationCreateDTO();
+        createDTO.setFacilityId(facilityId);
+        createDTO.setStartTime(startTime);
+        createDTO.setEndTime(startTime.plusHours(1));
+        createDTO.setPurpose("定例会議");
+        return createDTO;
+    }
+}
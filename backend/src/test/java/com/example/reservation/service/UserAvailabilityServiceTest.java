@@ -0,0 +1,86 @@
+package com.example.reservation.service;
+
+import com.example.reservation.config.UserAvailabilityProperties;
+import com.example.reservation.event.UserChangedEvent;
+import com.example.reservation.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserAvailabilityServiceImplのテストクラス
+ * 再構築中に登録されたユーザーが新しいフィルターから漏れないことと、削除後の再構築が呼び出し元のスレッドで行われないことを確認します
+ */
+@ExtendWith(MockitoExtension.class)
+public class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAvailabilityServiceImpl userAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        UserAvailabilityProperties properties = new UserAvailabilityProperties();
+        properties.setExpectedInsertions(1_000);
+        properties.setRebuildAfterDeletes(2);
+        userAvailabilityService = new UserAvailabilityServiceImpl(userRepository, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userAvailabilityService.destroy();
+    }
+
+    /**
+     * 再構築の読み込み中に登録されたユーザーが、再構築後のフィルターに含まれることを検証します
+     * （フィルターで「確実に未使用」と判定されず、データベースで確認される）
+     */
+    @Test
+    void onUserChanged_DuringRebuild_AddedToNewFilter() {
+        when(userRepository.findAllUsernamesAndEmails()).thenAnswer(invocation -> {
+            userAvailabilityService.onUserChanged(new UserChangedEvent(1L, "newuser", "new@example.com", false));
+            return List.of();
+        });
+        when(userRepository.existsByUsername("newuser")).thenReturn(true);
+
+        userAvailabilityService.rebuild();
+
+        assertFalse(userAvailabilityService.check("newuser", null).getUsernameAvailable());
+        verify(userRepository).existsByUsername("newuser");
+    }
+
+    /**
+     * 削除が一定件数に達したときの再構築が、削除を通知したスレッドではなく専用スレッドで実行されることを検証します
+     */
+    @Test
+    void onUserChanged_DeletesReachThreshold_RebuildsAsynchronously() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> rebuildThread = new CompletableFuture<>();
+        when(userRepository.findAllUsernamesAndEmails()).thenAnswer(invocation -> {
+            rebuildThread.complete(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        userAvailabilityService.onUserChanged(UserChangedEvent.deleted(1L));
+        userAvailabilityService.onUserChanged(UserChangedEvent.deleted(2L));
+
+        // 再構築の完了を待たずに戻り、別のスレッドで読み込みが行われる
+        assertNotEquals(Thread.currentThread().getName(), rebuildThread.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        verify(userRepository, timeout(5_000)).findAllUsernamesAndEmails();
+    }
+}
@@ -1,18 +1,22 @@
 package com.example.reservation.service;
 
+import com.example.reservation.exception.DuplicateUserException;
 import com.example.reservation.model.dto.UserDTO;
 import com.example.reservation.model.dto.UserRegistrationDTO;
 import com.example.reservation.model.entity.User;
 import com.example.reservation.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Optional;
+import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +36,12 @@ public class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserValidationService userValidationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -56,15 +66,13 @@ public class UserServiceTest {
 
     /**
      * ユーザー登録機能のテスト
-     * 正常にユーザーが登録できることを検証します
+     * 重複の事前確認を行わず、1回の保存で正常にユーザーが登録できることを検証します
      */
     @Test
     void registerUser_Success() {
         // モックの設定
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
 
         // テスト対象メソッドの実行
         UserDTO result = userService.register(registrationDTO);
@@ -76,31 +84,100 @@ public class UserServiceTest {
         assertEquals(User.Role.USER, result.getRole());
 
         // メソッドの呼び出し回数を検証
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository).existsByEmail("test@example.com");
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
+        verify(userRepository).saveAndFlush(any(User.class));
     }
 
     /**
      * ユーザー名重複時のエラー処理のテスト
-     * 既に存在するユーザー名で登録を試みた場合、例外がスローされることを検証します
+     * 既に存在するユーザー名で登録を試みた場合、一意制約違反がユーザー重複例外に変換されることを検証します
      */
     @Test
     void registerUser_DuplicateUsername() {
-        // モックの設定 - ユーザー名が既に存在する場合
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        // モックの設定 - ユーザー名の一意制約に違反する場合
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("ERROR: duplicate key value violates unique constraint \"uk_users_username\"\n"
+                        + "  Detail: Key (username)=(testuser) already exists.")));
+
+        // テスト対象メソッドの実行と例外の検証
+        DuplicateUserException exception = assertThrows(
+                DuplicateUserException.class,
+                () -> userService.register(registrationDTO)
+        );
+
+        // 例外メッセージの検証
+        assertEquals("ユーザー名 'testuser' は既に使用されています", exception.getMessage());
+    }
+
+    /**
+     * メールアドレス重複時のエラー処理のテスト
+     * 既に存在するメールアドレスで登録を試みた場合、一意制約違反がユーザー重複例外に変換されることを検証します
+     */
+    @Test
+    void registerUser_DuplicateEmail() {
+        // モックの設定 - メールアドレスの一意制約に違反する場合
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("ERROR: duplicate key value violates unique constraint \"uk_6dotkott2kjsp8vw4d0m25fb7\"\n"
+                        + "  Detail: Key (email)=(test@example.com) already exists.")));
+
+        // テスト対象メソッドの実行と例外の検証
+        DuplicateUserException exception = assertThrows(
+                DuplicateUserException.class,
+                () -> userService.register(registrationDTO)
+        );
+
+        // 例外メッセージの検証
+        assertEquals("メールアドレス 'test@example.com' は既に使用されています", exception.getMessage());
+    }
+
+    /**
+     * 値にユーザー名の列名を含むメールアドレスの重複が、メールアドレスの重複と判定されることを検証します
+     */
+    @Test
+    void registerUser_DuplicateEmailContainingUsername() {
+        // モックの設定 - メールアドレスに「username」を含む場合
+        registrationDTO.setEmail("myusername@example.com");
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("ERROR: duplicate key value violates unique constraint \"uk_6dotkott2kjsp8vw4d0m25fb7\"\n"
+                        + "  Detail: Key (email)=(myusername@example.com) already exists.")));
 
         // テスト対象メソッドの実行と例外の検証
-        IllegalArgumentException exception = assertThrows(
-                IllegalArgumentException.class,
+        DuplicateUserException exception = assertThrows(
+                DuplicateUserException.class,
                 () -> userService.register(registrationDTO)
         );
 
         // 例外メッセージの検証
-        assertEquals("このユーザー名は既に使用されています", exception.getMessage());
+        assertEquals("メールアドレス 'myusername@example.com' は既に使用されています", exception.getMessage());
+    }
 
-        // save()メソッドが呼ばれていないことを検証
-        verify(userRepository, never()).save(any(User.class));
+    /**
+     * 一意制約違反の制約名から、違反した列が判定されることを検証します
+     */
+    @Test
+    void registerUser_DuplicateEmailByConstraintName() {
+        // モックの設定 - 制約名のみが分かる場合
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key value violates unique constraint"), User.EMAIL_CONSTRAINT)));
+
+        // テスト対象メソッドの実行と例外の検証
+        DuplicateUserException exception = assertThrows(
+                DuplicateUserException.class,
+                () -> userService.register(registrationDTO)
+        );
+
+        // 例外メッセージの検証
+        assertEquals("メールアドレス 'test@example.com' は既に使用されています", exception.getMessage());
     }
-}
\ No newline at end of file
+}